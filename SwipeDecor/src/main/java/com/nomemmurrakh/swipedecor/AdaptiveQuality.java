@@ -0,0 +1,159 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.util.DisplayMetrics;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Decides when a {@link SwipeDecoration} draws its icons the cheap way, used when adaptive
+ * quality is enabled on the Builder.
+ * <p>
+ * Frames are degraded while the average cost of drawing a frame at full quality is over the
+ * budget, or an item is swiped faster than the velocity threshold. Degraded frames are held
+ * for a while, then full quality is restored once both the cost and the velocity are back under
+ * {@link #RECOVERY_RATIO} of their thresholds. Only full quality frames are timed, the cost
+ * average decays while frames are degraded.
+ * <p>
+ * The cost of a frame is the sum of the items drawn in it, a frame ends when an item is drawn
+ * again. Velocity is tracked per item, so items swiped or recovering together don't reset it.
+ */
+final class AdaptiveQuality {
+
+    // Weight of the newest frame in the cost average is 1 / SMOOTHING.
+    private static final int SMOOTHING = 8;
+
+    private static final int HOLD_FRAMES = 30;
+
+    private static final float RECOVERY_RATIO = 0.75f;
+
+    // Items tracked at once, the least recently drawn one is forgotten past this.
+    private static final int MAX_VIEW_HOLDERS = 8;
+
+    private final long drawBudgetNanos;
+    private final float maxVelocityDp;
+
+    private long averageNanos;
+    private boolean degraded;
+    private int heldFrames;
+
+    // Current frame.
+    private long frameStartNanos;
+    private long frameCostNanos;
+    private float frameVelocityDp;
+
+    // Last frame of every item, to compute the velocity it is swiped at.
+    private final RecyclerView.ViewHolder[] viewHolders;
+    private final int[] lastDisplacements;
+    private final long[] lastFrameNanos;
+
+    /**
+     * @param drawBudgetNanos average time the items of a frame may take to be decorated.
+     * @param maxVelocityDp swipe velocity in dp per second over which frames are degraded.
+     */
+    AdaptiveQuality(long drawBudgetNanos, float maxVelocityDp){
+        this.drawBudgetNanos = drawBudgetNanos;
+        this.maxVelocityDp = maxVelocityDp;
+        this.viewHolders = new RecyclerView.ViewHolder[MAX_VIEW_HOLDERS];
+        this.lastDisplacements = new int[MAX_VIEW_HOLDERS];
+        this.lastFrameNanos = new long[MAX_VIEW_HOLDERS];
+    }
+
+    /**
+     * Called before an item is drawn.
+     * @return true if the item must be drawn degraded.
+     */
+    boolean update(@NonNull SwipeFrame frame, long frameNanos){
+
+        float velocityDp = 0;
+        int index = indexOf(frame.viewHolder);
+        if (index >= 0){
+            if (lastFrameNanos[index] >= frameStartNanos){
+                // Drawn twice, every item of the previous frame has been drawn.
+                endFrame(frameNanos);
+            }
+            if (frameNanos > lastFrameNanos[index] && frame.densityDpi > 0){
+                float velocity = Math.abs(frame.displacement - lastDisplacements[index]) * 1e9f / (frameNanos - lastFrameNanos[index]);
+                velocityDp = velocity * DisplayMetrics.DENSITY_DEFAULT / frame.densityDpi;
+            }
+        }else{
+            index = claim(frame.viewHolder);
+        }
+        lastDisplacements[index] = frame.displacement;
+        lastFrameNanos[index] = frameNanos;
+        frameVelocityDp = Math.max(frameVelocityDp, velocityDp);
+
+        if (!degraded && (averageNanos > drawBudgetNanos || velocityDp > maxVelocityDp)){
+            degraded = true;
+            heldFrames = 0;
+        }
+        return degraded;
+    }
+
+    /**
+     * Called after an item is drawn.
+     * @param drawNanos time taken to draw it.
+     */
+    void onFrameDrawn(long drawNanos){
+        frameCostNanos += drawNanos;
+    }
+
+    boolean isDegraded(){
+        return degraded;
+    }
+
+    /**
+     * Forgets the view holder, called when its swipe has ended.
+     */
+    void release(@NonNull RecyclerView.ViewHolder viewHolder){
+        int index = indexOf(viewHolder);
+        if (index >= 0){
+            viewHolders[index] = null;
+        }
+    }
+
+    private void endFrame(long frameNanos){
+
+        if (!degraded){
+            averageNanos += (frameCostNanos - averageNanos) / SMOOTHING;
+        }else{
+            heldFrames++;
+            if (heldFrames >= HOLD_FRAMES){
+                // Nothing is measured while degraded, let the average decay so full quality is tried again.
+                averageNanos -= averageNanos / SMOOTHING;
+                if (frameVelocityDp < maxVelocityDp * RECOVERY_RATIO && averageNanos < drawBudgetNanos * RECOVERY_RATIO){
+                    degraded = false;
+                }
+            }
+        }
+
+        frameStartNanos = frameNanos;
+        frameCostNanos = 0;
+        frameVelocityDp = 0;
+    }
+
+    private int indexOf(RecyclerView.ViewHolder viewHolder){
+        for (int i = 0; i < MAX_VIEW_HOLDERS; i++){
+            if (viewHolders[i] == viewHolder){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Takes a free slot, or the one of the least recently drawn item.
+    private int claim(RecyclerView.ViewHolder viewHolder){
+        int index = 0;
+        for (int i = 0; i < MAX_VIEW_HOLDERS; i++){
+            if (viewHolders[i] == null){
+                index = i;
+                break;
+            }
+            if (lastFrameNanos[i] < lastFrameNanos[index]){
+                index = i;
+            }
+        }
+        viewHolders[index] = viewHolder;
+        return index;
+    }
+}
@@ -0,0 +1,170 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Draws the background uncovered by a swipe in one direction.
+ * <p>
+ * Instances are created once by {@link SwipeDecoration.Builder#build()} from the
+ * background options of a direction, so drawing a frame does not need to check them again.
+ */
+abstract class BackgroundRenderer {
+
+    /**
+     *  Used when no background is set for a direction.
+     */
+    static final BackgroundRenderer NONE = new BackgroundRenderer() {
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+        }
+    };
+
+    abstract void draw(@NonNull Canvas c, @NonNull SwipeFrame frame);
+
+    /**
+     * Stretches a drawable over the revealed area.
+     */
+    static final class Stretched extends BackgroundRenderer {
+
+        private final Drawable drawable;
+
+        Stretched(@NonNull Drawable drawable){
+            this.drawable = drawable;
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+            drawable.setBounds(frame.revealBounds);
+            drawable.draw(c);
+        }
+    }
+
+    /**
+     * Lays a drawable out over the whole item and reveals it through the clip of the
+     * swiped area, used for gradients with {@link SwipeDecoration#BACKGROUND_MODE_FIXED}.
+     * <p>
+     * Bounds are relative to the top of the item, so they only change with the size of the
+     * item and not with every frame or scroll position. A gradient keeps its shader as long
+     * as its bounds don't change.
+     */
+    static final class Fixed extends BackgroundRenderer {
+
+        private final Drawable drawable;
+
+        Fixed(@NonNull Drawable drawable){
+            this.drawable = drawable;
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+            Rect bounds = drawable.getBounds();
+            if (bounds.left != frame.viewLeft || bounds.top != 0 || bounds.right != frame.viewRight || bounds.bottom != frame.viewHeight){
+                drawable.setBounds(frame.viewLeft, 0, frame.viewRight, frame.viewHeight);
+            }
+
+            c.translate(0, frame.viewTop);
+            drawable.draw(c);
+            c.translate(0, -frame.viewTop);
+        }
+    }
+
+    /**
+     * Fills the background with a color and rounded corners, used for color backgrounds with
+     * {@link SwipeDecoration#BACKGROUND_SHAPE_ROUNDED} or {@link SwipeDecoration#BACKGROUND_SHAPE_CARD}.
+     * <p>
+     * Corners are drawn with {@link Canvas#drawRoundRect(RectF, float, float, Paint)}, which
+     * costs about the same as a rectangle and needs neither a path nor a clip.
+     */
+    static final class RoundedColor extends BackgroundRenderer {
+
+        private final Paint paint;
+        private final float radius;
+        private final boolean card;
+
+        // The revealed area, or the whole item relative to its top for cards.
+        private final RectF rect;
+
+        RoundedColor(int color, float radius, boolean card){
+            this.paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            this.paint.setColor(color);
+            this.radius = radius;
+            this.card = card;
+            this.rect = new RectF();
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+
+            if (!card){
+                rect.set(frame.revealBounds);
+                c.drawRoundRect(rect, radius, radius, paint);
+                return;
+            }
+
+            if (rect.left != frame.viewLeft || rect.right != frame.viewRight || rect.bottom != frame.viewHeight){
+                rect.set(frame.viewLeft, 0, frame.viewRight, frame.viewHeight);
+            }
+
+            c.translate(0, frame.viewTop);
+            c.drawRoundRect(rect, radius, radius, paint);
+            c.translate(0, -frame.viewTop);
+        }
+    }
+
+    /**
+     * Clips another background to a rounded outline, used for gradients whose corners can't be
+     * drawn by the gradient itself, i.e. stretched gradients with {@link SwipeDecoration#BACKGROUND_SHAPE_CARD}
+     * and fixed gradients with {@link SwipeDecoration#BACKGROUND_SHAPE_ROUNDED}.
+     * <p>
+     * The outline of a card is built once for every item size, relative to the top of the item.
+     * The outline of the revealed area changes on every frame, and is rebuilt into the same path.
+     */
+    static final class Clipped extends BackgroundRenderer {
+
+        private final BackgroundRenderer background;
+        private final float radius;
+        private final boolean card;
+
+        private final Path path;
+        private final RectF rect;
+
+        Clipped(@NonNull BackgroundRenderer background, float radius, boolean card){
+            this.background = background;
+            this.radius = radius;
+            this.card = card;
+            this.path = new Path();
+            this.rect = new RectF();
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+
+            int saveCount = c.save();
+            if (card){
+                if (path.isEmpty() || rect.left != frame.viewLeft || rect.right != frame.viewRight || rect.bottom != frame.viewHeight){
+                    rect.set(frame.viewLeft, 0, frame.viewRight, frame.viewHeight);
+                    path.reset();
+                    path.addRoundRect(rect, radius, radius, Path.Direction.CW);
+                }
+                c.translate(0, frame.viewTop);
+                c.clipPath(path);
+                c.translate(0, -frame.viewTop);
+            }else{
+                rect.set(frame.revealBounds);
+                path.reset();
+                path.addRoundRect(rect, radius, radius, Path.Direction.CW);
+                c.clipPath(path);
+            }
+
+            background.draw(c, frame);
+            c.restoreToCount(saveCount);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.nomemmurrakh.swipedecor;
+
+/**
+ * Cost of the last frame drawn by a {@link SwipeDecoration}, along with totals since it
+ * was built. Passed to a {@link DecorationMetricsListener}.
+ */
+public final class DecorationMetrics {
+
+    private int direction;
+    private long backgroundNanos;
+    private long iconNanos;
+    private long drawCount;
+    private long rasterizationCount;
+    private long cacheHitCount;
+    private long bitmapByteCount;
+    private boolean degraded;
+
+    DecorationMetrics(){
+    }
+
+    void set(int direction, long backgroundNanos, long iconNanos, long rasterizationCount, long cacheHitCount,
+             long bitmapByteCount){
+        this.direction = direction;
+        this.backgroundNanos = backgroundNanos;
+        this.iconNanos = iconNanos;
+        this.rasterizationCount = rasterizationCount;
+        this.cacheHitCount = cacheHitCount;
+        this.bitmapByteCount = bitmapByteCount;
+        this.drawCount++;
+    }
+
+    void setDegraded(boolean degraded){
+        this.degraded = degraded;
+    }
+
+    /**
+     * @return {@link SwipeDecoration#DIRECTION_LEFT} or {@link SwipeDecoration#DIRECTION_RIGHT}.
+     */
+    public int getDirection() {
+        return direction;
+    }
+
+    /**
+     * @return time spent drawing the background of the last frame, in nanoseconds.
+     */
+    public long getBackgroundNanos() {
+        return backgroundNanos;
+    }
+
+    /**
+     * @return time spent drawing the icon of the last frame, in nanoseconds.
+     */
+    public long getIconNanos() {
+        return iconNanos;
+    }
+
+    /**
+     * @return time spent in the last call of <code>applyDecoration</code>, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return backgroundNanos + iconNanos;
+    }
+
+    /**
+     * @return number of frames drawn so far.
+     */
+    public long getDrawCount() {
+        return drawCount;
+    }
+
+    /**
+     * @return number of icons converted to a bitmap so far.
+     */
+    public long getRasterizationCount() {
+        return rasterizationCount;
+    }
+
+    /**
+     * @return number of frames that reused an already converted bitmap so far.
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    /**
+     * @return bytes of the bitmaps held by the decoration after the last frame.
+     */
+    public long getBitmapByteCount() {
+        return bitmapByteCount;
+    }
+
+    /**
+     * @return true if the last frame was drawn at a lower quality by adaptive quality.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+}
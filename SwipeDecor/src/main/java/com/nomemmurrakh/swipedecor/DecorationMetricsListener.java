@@ -0,0 +1,20 @@
+package com.nomemmurrakh.swipedecor;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Receives the cost of every frame drawn by a {@link SwipeDecoration}.
+ * <p>
+ * Set it with {@link SwipeDecoration.Builder#setMetricsListener(DecorationMetricsListener)}.
+ * It is called on the UI thread, from inside <code>OnChildDraw</code>, so it should only
+ * record the numbers and do any reporting later.
+ */
+public interface DecorationMetricsListener {
+
+    /**
+     * Called after each call of <code>applyDecoration</code>.
+     * @param metrics of the frame just drawn. The same instance is updated on every frame,
+     *                copy the values to keep them.
+     */
+    void onDecorationDrawn(@NonNull DecorationMetrics metrics);
+}
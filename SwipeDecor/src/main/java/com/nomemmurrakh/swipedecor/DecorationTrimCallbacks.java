@@ -0,0 +1,85 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Trims the caches of every {@link SwipeDecoration} when the system runs low on memory, or
+ * the UI of the app is hidden. The caches are filled again on the next swipe.
+ * <p>
+ * A single instance is registered with the application context, the first time a decoration
+ * draws. Decorations are only weakly referenced, so a decoration that is never released does
+ * not leak, and is forgotten once it is collected. {@link #unregister(SwipeDecoration)} removes
+ * a released decoration right away.
+ */
+final class DecorationTrimCallbacks implements ComponentCallbacks2 {
+
+    private static DecorationTrimCallbacks instance;
+
+    private final Set<SwipeDecoration> decorations;
+
+    private DecorationTrimCallbacks(){
+        this.decorations = Collections.newSetFromMap(new WeakHashMap<SwipeDecoration, Boolean>());
+    }
+
+    /**
+     * @param context any context, the callbacks are registered with its application context.
+     * @param decoration whose caches are trimmed, until it is unregistered or collected.
+     */
+    static synchronized void register(@NonNull Context context, @NonNull SwipeDecoration decoration){
+        if (instance == null){
+            Context applicationContext = context.getApplicationContext();
+            if (applicationContext == null){
+                applicationContext = context;
+            }
+            instance = new DecorationTrimCallbacks();
+            applicationContext.registerComponentCallbacks(instance);
+        }
+        instance.decorations.add(decoration);
+    }
+
+    /**
+     * @param decoration released, its caches are no longer trimmed.
+     */
+    static synchronized void unregister(@NonNull SwipeDecoration decoration){
+        if (instance != null){
+            instance.decorations.remove(decoration);
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        // Moderate pressure while running is left alone, the caches are small and in use.
+        if (level >= TRIM_MEMORY_RUNNING_LOW){
+            trim();
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        trim();
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+    }
+
+    private void trim(){
+        // Trimmed outside of the lock, a decoration may register or unregister meanwhile.
+        ArrayList<SwipeDecoration> registered;
+        synchronized (DecorationTrimCallbacks.class){
+            registered = new ArrayList<>(decorations);
+        }
+        for (int i = 0, size = registered.size(); i < size; i++){
+            registered.get(i).trimMemory();
+        }
+    }
+}
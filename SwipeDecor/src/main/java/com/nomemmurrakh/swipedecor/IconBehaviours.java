@@ -0,0 +1,89 @@
+package com.nomemmurrakh.swipedecor;
+
+import static com.nomemmurrakh.swipedecor.SwipeDecoration.DIRECTION_RIGHT;
+import static com.nomemmurrakh.swipedecor.SwipeDecoration.MARGIN;
+
+/**
+ * Built-in implementations of {@link SwipeDecoration.IconBehaviour}, one for each
+ * <code>BEHAVIOUR_*</code> constant of {@link SwipeDecoration}.
+ */
+final class IconBehaviours {
+
+    static final SwipeDecoration.IconBehaviour STATIC_START = new SwipeDecoration.IconBehaviour() {
+        @Override
+        public int getIconLeft(int direction, int displacement, int viewWidth, int iconWidth) {
+            if (direction == DIRECTION_RIGHT){
+                return MARGIN;
+            }
+            return (viewWidth - iconWidth) - MARGIN;
+        }
+    };
+
+    static final SwipeDecoration.IconBehaviour STATIC_END = new SwipeDecoration.IconBehaviour() {
+        @Override
+        public int getIconLeft(int direction, int displacement, int viewWidth, int iconWidth) {
+            if (direction == DIRECTION_RIGHT){
+                return (displacement - iconWidth) - MARGIN;
+            }
+            return (viewWidth + MARGIN) - displacement;
+        }
+    };
+
+    static final SwipeDecoration.IconBehaviour STATIC_CENTER = new SwipeDecoration.IconBehaviour() {
+        @Override
+        public int getIconLeft(int direction, int displacement, int viewWidth, int iconWidth) {
+            return (viewWidth - iconWidth) / 2;
+        }
+    };
+
+    static final SwipeDecoration.IconBehaviour DYNAMIC = new Dynamic(InterpolationCurve.LINEAR);
+
+    private IconBehaviours(){
+    }
+
+    /**
+     * @param behaviour one of the <code>BEHAVIOUR_*</code> constants.
+     * @param dynamicCurve used to ease the movement of {@link SwipeDecoration#BEHAVIOUR_DYNAMIC}.
+     * @return matching behaviour, {@link #STATIC_START} if unknown.
+     */
+    static SwipeDecoration.IconBehaviour of(int behaviour, InterpolationCurve dynamicCurve){
+        switch (behaviour){
+            case SwipeDecoration.BEHAVIOUR_STATIC_END:
+                return STATIC_END;
+            case SwipeDecoration.BEHAVIOUR_STATIC_CENTER:
+                return STATIC_CENTER;
+            case SwipeDecoration.BEHAVIOUR_DYNAMIC:
+                return dynamicCurve == InterpolationCurve.LINEAR ? DYNAMIC : new Dynamic(dynamicCurve);
+            case SwipeDecoration.BEHAVIOUR_STATIC_START:
+            default:
+                return STATIC_START;
+        }
+    }
+
+    /**
+     * Moves the icon with the edge of the swiped view until it reaches the center.
+     */
+    private static final class Dynamic implements SwipeDecoration.IconBehaviour {
+
+        private final InterpolationCurve curve;
+
+        Dynamic(InterpolationCurve curve){
+            this.curve = curve;
+        }
+
+        @Override
+        public int getIconLeft(int direction, int displacement, int viewWidth, int iconWidth) {
+
+            int centerFromEdge = (((viewWidth - iconWidth) / 2) + iconWidth) + MARGIN;
+            int marginFromEdge = centerFromEdge;
+            if (centerFromEdge > 0 && displacement < centerFromEdge){
+                marginFromEdge = (int) (centerFromEdge * curve.get(displacement / (float) centerFromEdge));
+            }
+
+            if (direction == DIRECTION_RIGHT){
+                return (marginFromEdge - iconWidth) - MARGIN;
+            }
+            return (viewWidth + MARGIN) - marginFromEdge;
+        }
+    }
+}
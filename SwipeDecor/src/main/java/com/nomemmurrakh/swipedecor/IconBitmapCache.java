@@ -0,0 +1,151 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A small LRU cache of rasterized icons, used by {@link SwipeDecoration} so that an icon
+ * is converted to a {@link Bitmap} once instead of on every frame of a swipe.
+ * <p>
+ * Entries are keyed by the {@link Drawable} instance. An entry is re-rasterized when the
+ * intrinsic size of its drawable or the display density no longer matches the one it was
+ * created with, e.g. after a configuration change. That check is the only invalidation, the
+ * drawables of a decoration are never replaced and the entries of unused ones age out.
+ * <p>
+ * The size of every bitmap it owns is counted. The bitmap of a {@link BitmapDrawable} is
+ * returned as is for {@link Bitmap.Config#ARGB_8888}, it is not owned by the cache and not counted.
+ */
+final class IconBitmapCache {
+
+    /**
+     *  Default number of bitmaps kept alive, enough for one icon in each direction
+     *  plus a couple of replaced drawables.
+     */
+    static final int DEFAULT_MAX_ENTRIES = 4;
+
+    private final int maxEntries;
+    private final LinkedHashMap<Drawable, Entry> entries;
+
+    // Totals reported through DecorationMetrics.
+    private long rasterizationCount;
+    private long hitCount;
+
+    // Bytes of the bitmaps currently held by the entries.
+    private long byteCount;
+
+    IconBitmapCache(int maxEntries){
+        this.maxEntries = maxEntries;
+        // Access ordered, so the eldest entry is always the least recently used one.
+        this.entries = new LinkedHashMap<Drawable, Entry>(maxEntries + 1, 1f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Drawable, Entry> eldest) {
+                if (size() > IconBitmapCache.this.maxEntries){
+                    byteCount -= eldest.getValue().byteCount;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the rasterized form of the drawable, creating it only if it is not cached
+     * or its cached form is stale.
+     * @param drawable to rasterize.
+     * @param densityDpi current display density.
+     * @return cached bitmap, or null if the drawable has no intrinsic size.
+     */
+    @Nullable
+    Bitmap get(@NonNull Drawable drawable, int densityDpi){
+        return get(drawable, densityDpi, Bitmap.Config.ARGB_8888);
+    }
+
+    /**
+     * Same as {@link #get(Drawable, int)}, for a given bitmap config.
+     * @param config {@link Bitmap.Config#ARGB_8888}, or {@link Bitmap.Config#ALPHA_8} for the
+     *               mask of a monochrome icon, drawn with the color of a Paint.
+     */
+    @Nullable
+    Bitmap get(@NonNull Drawable drawable, int densityDpi, @NonNull Bitmap.Config config){
+
+        if (drawable instanceof BitmapDrawable && config == Bitmap.Config.ARGB_8888){
+            return ((BitmapDrawable) drawable).getBitmap();
+        }
+
+        int width = drawable.getIntrinsicWidth();
+        int height = drawable.getIntrinsicHeight();
+
+        if (width <= 0 || height <= 0){
+            return null;
+        }
+
+        Entry entry = entries.get(drawable);
+        if (entry == null){
+            entry = new Entry();
+            entries.put(drawable, entry);
+        }else if (entry.width == width && entry.height == height && entry.densityDpi == densityDpi && entry.config == config){
+            hitCount++;
+            return entry.bitmap;
+        }
+
+        rasterizationCount++;
+
+        entry.bitmap = config == Bitmap.Config.ARGB_8888 ? SwipeDecoration.drawableToBitmap(drawable) : rasterize(drawable, config);
+        byteCount += entry.bitmap.getAllocationByteCount() - entry.byteCount;
+        entry.byteCount = entry.bitmap.getAllocationByteCount();
+        entry.width = width;
+        entry.height = height;
+        entry.densityDpi = densityDpi;
+        entry.config = config;
+        return entry.bitmap;
+    }
+
+    private static Bitmap rasterize(Drawable drawable, Bitmap.Config config){
+        Bitmap bitmap = Bitmap.createBitmap(drawable.getIntrinsicWidth(), drawable.getIntrinsicHeight(), config);
+        Canvas canvas = new Canvas(bitmap);
+        drawable.setBounds(0, 0, canvas.getWidth(), canvas.getHeight());
+        drawable.draw(canvas);
+        return bitmap;
+    }
+
+    long getRasterizationCount(){
+        return rasterizationCount;
+    }
+
+    long getHitCount(){
+        return hitCount;
+    }
+
+    /**
+     * @return bytes of the bitmaps currently cached.
+     */
+    long getByteCount(){
+        return byteCount;
+    }
+
+    /**
+     * Drops every cached bitmap. Bitmaps are not recycled, since they may still be
+     * referenced by a display list that has not been rendered yet.
+     */
+    void clear(){
+        entries.clear();
+        byteCount = 0;
+    }
+
+    private static final class Entry {
+        Bitmap bitmap;
+        int width;
+        int height;
+        int densityDpi;
+        Bitmap.Config config;
+        int byteCount;
+    }
+}
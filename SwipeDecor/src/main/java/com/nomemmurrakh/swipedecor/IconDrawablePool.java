@@ -0,0 +1,144 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.vectordrawable.graphics.drawable.AnimatedVectorDrawableCompat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.WeakHashMap;
+
+/**
+ * Hands out a separate, mutated copy of an icon to every {@link RecyclerView.ViewHolder}
+ * being swiped, so that the alpha or animation state of one swipe does not overwrite
+ * the state of another swipe drawn in the same frame.
+ * <p>
+ * Copies are returned to the pool by {@link #release(RecyclerView.ViewHolder)} when the
+ * swipe ends, and reused by the next swipe instead of being created again. View holders are
+ * held weakly, the copy of one that is never released goes away with it.
+ */
+final class IconDrawablePool {
+
+    private final Drawable drawable;
+    private final Drawable.ConstantState constantState;
+    private final Resources resources;
+
+    // Inflated again for every copy when the drawable can't be copied, see AnimatedVectorDrawableCompat.
+    private final Context context;
+    @DrawableRes private final int resource;
+
+    private final WeakHashMap<RecyclerView.ViewHolder, Drawable> active;
+    private final ArrayList<Drawable> free;
+
+    IconDrawablePool(@NonNull Drawable drawable, @NonNull Resources resources){
+        this.drawable = drawable;
+        this.constantState = drawable.getConstantState();
+        this.resources = resources;
+        this.context = null;
+        this.resource = 0;
+        this.active = new WeakHashMap<>();
+        this.free = new ArrayList<>();
+    }
+
+    /**
+     * Pool of an animated vector drawable, below API 24 copies are inflated from its resource.
+     */
+    IconDrawablePool(@NonNull AnimatedVectorDrawableCompat drawable, @NonNull Context context, @DrawableRes int resource){
+        this.drawable = drawable;
+        this.constantState = drawable.getConstantState();
+        this.resources = context.getResources();
+        this.context = context;
+        this.resource = resource;
+        this.active = new WeakHashMap<>();
+        this.free = new ArrayList<>();
+    }
+
+    /**
+     * @param viewHolder being swiped.
+     * @return copy of the icon owned by the view holder, or null if it has none yet.
+     */
+    Drawable get(@NonNull RecyclerView.ViewHolder viewHolder){
+        return active.get(viewHolder);
+    }
+
+    /**
+     * @param viewHolder being swiped.
+     * @return copy of the icon owned by the view holder until it is released.
+     */
+    @NonNull
+    Drawable obtain(@NonNull RecyclerView.ViewHolder viewHolder){
+
+        Drawable icon = active.get(viewHolder);
+        if (icon == null){
+            icon = free.isEmpty() ? newIcon() : free.remove(free.size() - 1);
+            active.put(viewHolder, icon);
+        }
+        return icon;
+    }
+
+    /**
+     * Returns the copy used by the view holder to the pool, if it has one.
+     * @param viewHolder whose swipe has ended.
+     * @return the released copy, or null.
+     */
+    Drawable release(@NonNull RecyclerView.ViewHolder viewHolder){
+
+        Drawable icon = active.remove(viewHolder);
+        if (icon != null && icon != drawable){
+            free.add(icon);
+        }
+        return icon;
+    }
+
+    /**
+     * @return copies in use by view holders still swiped.
+     */
+    Collection<Drawable> getActive(){
+        return active.values();
+    }
+
+    /**
+     * @return number of released copies waiting to be reused, see {@link #getFree(int)}.
+     */
+    int getFreeCount(){
+        return free.size();
+    }
+
+    Drawable getFree(int index){
+        return free.get(index);
+    }
+
+    void clear(){
+        active.clear();
+        free.clear();
+    }
+
+    /**
+     * Drops the released copies, the copies of view holders still swiped are kept.
+     */
+    void trim(){
+        free.clear();
+    }
+
+    private Drawable newIcon(){
+
+        if (constantState == null && resource != 0){
+            Drawable icon = AnimatedVectorDrawableCompat.create(context, resource);
+            if (icon != null){
+                return icon;
+            }
+        }
+
+        // Drawables without a constant state can't be copied, all swipes share the original.
+        if (constantState == null){
+            return drawable;
+        }
+
+        return constantState.newDrawable(resources).mutate();
+    }
+}
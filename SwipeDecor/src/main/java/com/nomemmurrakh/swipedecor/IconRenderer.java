@@ -0,0 +1,676 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.drawable.Animatable;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.ViewParent;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Draws the icon uncovered by a swipe in one direction.
+ * <p>
+ * Instances are created once by {@link SwipeDecoration.Builder#build()}, one for each
+ * direction, from the icon, behaviour and animation of that direction. Each subclass
+ * handles a single animation, so drawing a frame does not switch over them.
+ */
+abstract class IconRenderer {
+
+    /**
+     *  Used when no icon is set for a direction.
+     */
+    static final IconRenderer NONE = new IconRenderer() {
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+        }
+    };
+
+    abstract void draw(@NonNull Canvas c, @NonNull SwipeFrame frame);
+
+    /**
+     * Prepares anything the first frame would have to create, e.g. rasterized icons.
+     * May be called off the main thread, before the decoration is used.
+     */
+    void prewarm(int densityDpi){
+    }
+
+    /**
+     * Creates the renderer used in place of this one when drawing has to be cheaper,
+     * see {@link AdaptiveQuality}. Called once, when the icon is loaded.
+     * @return this renderer if it can't be made cheaper.
+     */
+    @NonNull
+    IconRenderer createDegraded(){
+        return this;
+    }
+
+    /**
+     * Called when the swipe of a view holder has ended, releases any state kept for it.
+     */
+    void release(@NonNull RecyclerView.ViewHolder viewHolder){
+    }
+
+    /**
+     * Releases the state kept for every view holder, and anything the next frame can create again.
+     */
+    void clear(){
+    }
+
+    /**
+     * Releases what no view holder is using while items are still swiped, e.g. pooled copies.
+     */
+    void trim(){
+    }
+
+    /**
+     * @return bytes of the bitmaps owned by this renderer, bitmaps of the shared
+     * {@link IconBitmapCache} are not counted.
+     */
+    long getByteCount(){
+        return 0;
+    }
+
+    /**
+     * Draws a drawable at the position given by its behaviour, used for {@link SwipeDecoration#NO_ANIMATION}.
+     */
+    static class Static extends IconRenderer {
+
+        final Drawable drawable;
+        final SwipeDecoration.IconBehaviour behaviour;
+
+        Static(@NonNull Drawable drawable, @NonNull SwipeDecoration.IconBehaviour behaviour){
+            this.drawable = drawable;
+            this.behaviour = behaviour;
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+            drawIcon(c, frame, drawable);
+        }
+
+        /**
+         * @return false if the icon is not revealed and was not drawn.
+         */
+        final boolean drawIcon(@NonNull Canvas c, @NonNull SwipeFrame frame, @NonNull Drawable icon){
+            int iconWidth = drawable.getIntrinsicWidth();
+            int iconHeight = drawable.getIntrinsicHeight();
+
+            frame.setIconBounds(behaviour.getIconLeft(frame.direction, frame.displacement, frame.viewWidth, iconWidth), iconWidth, iconHeight);
+            if (!frame.isIconRevealed()){
+                return false;
+            }
+
+            icon.setBounds(frame.iconBounds);
+            icon.draw(c);
+            return true;
+        }
+    }
+
+    /**
+     * Fades the icon in as the view is swiped, used for {@link SwipeDecoration#ANIMATION_FADE}.
+     * <p>
+     * Every view holder gets its own copy of the icon, so concurrent swipes don't overwrite
+     * each other's alpha.
+     */
+    static final class Fade extends Static {
+
+        private final IconDrawablePool pool;
+        private final InterpolationCurve curve;
+
+        Fade(@NonNull Drawable drawable, @NonNull SwipeDecoration.IconBehaviour behaviour, @NonNull IconDrawablePool pool,
+             @NonNull InterpolationCurve curve){
+            super(drawable, behaviour);
+            this.pool = pool;
+            this.curve = curve;
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+            Drawable icon = pool.obtain(frame.viewHolder);
+            icon.setAlpha(fadeAlpha(frame, drawable.getIntrinsicWidth(), curve));
+            drawIcon(c, frame, icon);
+        }
+
+        // The shared icon is never faded, it is drawn fully opaque.
+        @NonNull
+        @Override
+        IconRenderer createDegraded() {
+            return new Static(drawable, behaviour);
+        }
+
+        @Override
+        void release(@NonNull RecyclerView.ViewHolder viewHolder) {
+            pool.release(viewHolder);
+        }
+
+        @Override
+        void clear() {
+            pool.clear();
+        }
+
+        @Override
+        void trim() {
+            pool.trim();
+        }
+    }
+
+    /**
+     * Plays an animated drawable from the start of every swipe.
+     * <p>
+     * Animations set on the direction are ignored for animated drawables. Every view holder
+     * gets its own copy of the drawable, started on the first frame of its swipe and stopped
+     * when it is released, so the next swipe plays the animation again. Copies invalidate the
+     * RecyclerView while they run, so the animation goes on when the finger stops moving.
+     * On API 25+ animated vector drawables drawn on a hardware canvas run on the RenderThread.
+     */
+    static final class Animated extends Static {
+
+        private final IconDrawablePool pool;
+
+        // One for every copy, drawables only keep a weak reference to their callback. Weak keys,
+        // a copy is dropped with its view holder when the holder is never released.
+        private final WeakHashMap<Drawable, InvalidateCallback> callbacks;
+
+        Animated(@NonNull Drawable drawable, @NonNull SwipeDecoration.IconBehaviour behaviour, @NonNull IconDrawablePool pool){
+            super(drawable, behaviour);
+            this.pool = pool;
+            this.callbacks = new WeakHashMap<>();
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+            Drawable icon = pool.get(frame.viewHolder);
+            if (icon == null){
+                icon = pool.obtain(frame.viewHolder);
+                start(icon, frame.viewHolder);
+            }
+            drawIcon(c, frame, icon);
+        }
+
+        private void start(Drawable icon, RecyclerView.ViewHolder viewHolder){
+
+            InvalidateCallback callback = callbacks.get(icon);
+            if (callback == null){
+                callback = new InvalidateCallback();
+                callbacks.put(icon, callback);
+            }
+            ViewParent parent = viewHolder.itemView.getParent();
+            callback.target = new WeakReference<>(parent instanceof View ? (View) parent : viewHolder.itemView);
+            icon.setCallback(callback);
+
+            ((Animatable) icon).start();
+        }
+
+        @Override
+        void release(@NonNull RecyclerView.ViewHolder viewHolder) {
+            Drawable icon = pool.release(viewHolder);
+            if (icon != null){
+                stop(icon);
+            }
+        }
+
+        @Override
+        void clear() {
+            for (Drawable icon : pool.getActive()){
+                stop(icon);
+            }
+            pool.clear();
+            callbacks.clear();
+        }
+
+        @Override
+        void trim() {
+            // Running copies are kept, a trim must not stop the animation of a swiped item.
+            for (int i = 0, count = pool.getFreeCount(); i < count; i++){
+                callbacks.remove(pool.getFree(i));
+            }
+            pool.trim();
+        }
+
+        private void stop(Drawable icon){
+            ((Animatable) icon).stop();
+
+            InvalidateCallback callback = callbacks.get(icon);
+            if (callback != null){
+                callback.target = null;
+            }
+        }
+    }
+
+    /**
+     * Redraws the list a swiped view belongs to when its animated icon changes. The list
+     * can't be the callback itself, views ignore drawables they don't own. The list is held
+     * weakly, a copy that is never released must not keep it alive.
+     */
+    private static final class InvalidateCallback implements Drawable.Callback {
+
+        WeakReference<View> target;
+
+        @Override
+        public void invalidateDrawable(@NonNull Drawable who) {
+            View view = getTarget();
+            if (view != null){
+                view.invalidate();
+            }
+        }
+
+        @Override
+        public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {
+            View view = getTarget();
+            if (view != null){
+                view.postDelayed(what, when - SystemClock.uptimeMillis());
+            }
+        }
+
+        @Override
+        public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {
+            View view = getTarget();
+            if (view != null){
+                view.removeCallbacks(what);
+            }
+        }
+
+        private View getTarget(){
+            return target != null ? target.get() : null;
+        }
+    }
+
+    /**
+     * Rotates the icon a full turn over the first half of the view, used for
+     * {@link SwipeDecoration#ANIMATION_ROTATE}.
+     * <p>
+     * The icon is rasterized once through the {@link IconBitmapCache} and drawn with a matrix.
+     */
+    static final class Rotate extends IconRenderer {
+
+        private final Drawable drawable;
+        private final SwipeDecoration.IconBehaviour behaviour;
+        private final IconBitmapCache iconBitmapCache;
+        private final InterpolationCurve curve;
+
+        Rotate(@NonNull Drawable drawable, @NonNull SwipeDecoration.IconBehaviour behaviour, @NonNull IconBitmapCache iconBitmapCache,
+               @NonNull InterpolationCurve curve){
+            this.drawable = drawable;
+            this.behaviour = behaviour;
+            this.iconBitmapCache = iconBitmapCache;
+            this.curve = curve;
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+
+            int iconWidth = drawable.getIntrinsicWidth();
+            int iconHeight = drawable.getIntrinsicHeight();
+
+            frame.setIconBounds(behaviour.getIconLeft(frame.direction, frame.displacement, frame.viewWidth, iconWidth), iconWidth, iconHeight);
+            if (!frame.isIconRevealed()){
+                return;
+            }
+
+            Bitmap bitmap = iconBitmapCache.get(drawable, frame.densityDpi);
+            if (bitmap == null){
+                return;
+            }
+
+            Matrix rotationMatrix = frame.matrix;
+            rotationMatrix.setRotate(rotationAngle(frame, curve), iconWidth / 2.0f, iconHeight / 2.0f);
+            rotationMatrix.postTranslate(frame.iconBounds.left, frame.iconBounds.top);
+            c.drawBitmap(bitmap, rotationMatrix, null);
+        }
+
+        @Override
+        void prewarm(int densityDpi) {
+            iconBitmapCache.get(drawable, densityDpi);
+        }
+
+        @NonNull
+        @Override
+        IconRenderer createDegraded() {
+            return new Static(drawable, behaviour);
+        }
+    }
+
+    /**
+     * Rotates the drawable itself with the canvas, used for {@link SwipeDecoration#ANIMATION_ROTATE}
+     * with {@link SwipeDecoration#ROTATION_MODE_CANVAS}.
+     * <p>
+     * On a hardware accelerated canvas the vector display list is rotated directly, so the icon
+     * stays sharp and no bitmap is uploaded. Software canvases fall back to {@link Rotate}.
+     */
+    static final class CanvasRotate extends IconRenderer {
+
+        private final Drawable drawable;
+        private final SwipeDecoration.IconBehaviour behaviour;
+        private final InterpolationCurve curve;
+        private final Rotate softwareRenderer;
+
+        CanvasRotate(@NonNull Drawable drawable, @NonNull SwipeDecoration.IconBehaviour behaviour, @NonNull IconBitmapCache iconBitmapCache,
+                     @NonNull InterpolationCurve curve){
+            this.drawable = drawable;
+            this.behaviour = behaviour;
+            this.curve = curve;
+            this.softwareRenderer = new Rotate(drawable, behaviour, iconBitmapCache, curve);
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+
+            if (!c.isHardwareAccelerated()){
+                softwareRenderer.draw(c, frame);
+                return;
+            }
+
+            int iconWidth = drawable.getIntrinsicWidth();
+            int iconHeight = drawable.getIntrinsicHeight();
+
+            frame.setIconBounds(behaviour.getIconLeft(frame.direction, frame.displacement, frame.viewWidth, iconWidth), iconWidth, iconHeight);
+            if (!frame.isIconRevealed()){
+                return;
+            }
+
+            int saveCount = c.save();
+            c.rotate(rotationAngle(frame, curve), frame.iconBounds.exactCenterX(), frame.iconBounds.exactCenterY());
+            drawable.setBounds(frame.iconBounds);
+            drawable.draw(c);
+            c.restoreToCount(saveCount);
+        }
+
+        @NonNull
+        @Override
+        IconRenderer createDegraded() {
+            return new Static(drawable, behaviour);
+        }
+    }
+
+    /**
+     * Blits the nearest frame of a {@link RotationSprite}, used for {@link SwipeDecoration#ANIMATION_ROTATE}
+     * with {@link SwipeDecoration#ROTATION_MODE_SPRITE}.
+     * <p>
+     * The sprite is rendered from the cached bitmap of the icon on an executor, and published
+     * through a volatile field. Frames are drawn by {@link Rotate} until it is ready, or while
+     * it no longer matches the icon size or display density.
+     */
+    static final class SpriteRotate extends IconRenderer {
+
+        private final Drawable drawable;
+        private final SwipeDecoration.IconBehaviour behaviour;
+        private final IconBitmapCache iconBitmapCache;
+        private final InterpolationCurve curve;
+        private final int frameCount;
+        private final Executor executor;
+        private final Rotate fallbackRenderer;
+
+        private volatile RotationSprite sprite;
+        // Incremented by clear(), so a sprite rendered before it is not published.
+        private volatile int generation;
+
+        // Main thread only.
+        private Bitmap requestedIcon;
+        private int requestedDensityDpi;
+        private final Rect source = new Rect();
+        private final Rect destination = new Rect();
+
+        SpriteRotate(@NonNull Drawable drawable, @NonNull SwipeDecoration.IconBehaviour behaviour, @NonNull IconBitmapCache iconBitmapCache,
+                     @NonNull InterpolationCurve curve, int frameCount, @NonNull Executor executor){
+            this.drawable = drawable;
+            this.behaviour = behaviour;
+            this.iconBitmapCache = iconBitmapCache;
+            this.curve = curve;
+            this.frameCount = frameCount;
+            this.executor = executor;
+            this.fallbackRenderer = new Rotate(drawable, behaviour, iconBitmapCache, curve);
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+
+            int iconWidth = drawable.getIntrinsicWidth();
+            int iconHeight = drawable.getIntrinsicHeight();
+
+            RotationSprite sprite = this.sprite;
+            if (sprite == null || !sprite.matches(iconWidth, iconHeight, frame.densityDpi)){
+                requestSprite(frame.densityDpi);
+                fallbackRenderer.draw(c, frame);
+                return;
+            }
+
+            frame.setIconBounds(behaviour.getIconLeft(frame.direction, frame.displacement, frame.viewWidth, iconWidth), iconWidth, iconHeight);
+            if (!frame.isIconRevealed()){
+                return;
+            }
+
+            sprite.getFrameBounds(sprite.frameIndex(rotationAngle(frame, curve)), source);
+            int left = frame.iconBounds.centerX() - sprite.cellSize / 2;
+            int top = frame.iconBounds.centerY() - sprite.cellSize / 2;
+            destination.set(left, top, left + sprite.cellSize, top + sprite.cellSize);
+            c.drawBitmap(sprite.bitmap, source, destination, null);
+        }
+
+        // Renders the sprite on the executor, once for every rasterization of the icon.
+        private void requestSprite(int densityDpi){
+            final Bitmap icon = iconBitmapCache.get(drawable, densityDpi);
+            if (icon == null || (icon == requestedIcon && densityDpi == requestedDensityDpi)){
+                return;
+            }
+            requestedIcon = icon;
+            requestedDensityDpi = densityDpi;
+
+            final int requestedGeneration = generation;
+            final int iconWidth = drawable.getIntrinsicWidth();
+            final int iconHeight = drawable.getIntrinsicHeight();
+            final int spriteDensityDpi = densityDpi;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    RotationSprite rendered = RotationSprite.render(icon, iconWidth, iconHeight, frameCount, spriteDensityDpi);
+                    if (requestedGeneration == generation){
+                        sprite = rendered;
+                    }
+                }
+            });
+        }
+
+        @Override
+        void prewarm(int densityDpi) {
+            // Already off the main thread, render the sprite right away.
+            Bitmap icon = iconBitmapCache.get(drawable, densityDpi);
+            if (icon != null){
+                sprite = RotationSprite.render(icon, drawable.getIntrinsicWidth(), drawable.getIntrinsicHeight(), frameCount, densityDpi);
+            }
+        }
+
+        @Override
+        void clear() {
+            generation++;
+            sprite = null;
+            requestedIcon = null;
+        }
+
+        @Override
+        long getByteCount() {
+            RotationSprite sprite = this.sprite;
+            return sprite != null ? sprite.bitmap.getAllocationByteCount() : 0;
+        }
+
+        @NonNull
+        @Override
+        IconRenderer createDegraded() {
+            return new Static(drawable, behaviour);
+        }
+    }
+
+    /**
+     * Draws the icon as an {@link Bitmap.Config#ALPHA_8} mask with the color of a Paint, used
+     * for {@link SwipeDecoration#ICON_MODE_MASK}.
+     * <p>
+     * The mask takes a quarter of the memory of an ARGB_8888 bitmap, and a single Paint draws
+     * it for every view holder, so fading does not need copies of the icon.
+     */
+    static class Mask extends IconRenderer {
+
+        final Drawable drawable;
+        final SwipeDecoration.IconBehaviour behaviour;
+        final IconBitmapCache iconBitmapCache;
+        final int color;
+        final Paint paint;
+
+        Mask(@NonNull Drawable drawable, @NonNull SwipeDecoration.IconBehaviour behaviour, @NonNull IconBitmapCache iconBitmapCache,
+             int color){
+            this.drawable = drawable;
+            this.behaviour = behaviour;
+            this.iconBitmapCache = iconBitmapCache;
+            this.color = color;
+            this.paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+            this.paint.setColor(color);
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+            Bitmap mask = obtainMask(frame);
+            if (mask != null){
+                c.drawBitmap(mask, frame.iconBounds.left, frame.iconBounds.top, paint);
+            }
+        }
+
+        /**
+         * Sets the icon bounds of the frame.
+         * @return the mask, or null if the icon is not revealed or can't be rasterized.
+         */
+        final Bitmap obtainMask(@NonNull SwipeFrame frame){
+            int iconWidth = drawable.getIntrinsicWidth();
+            int iconHeight = drawable.getIntrinsicHeight();
+
+            frame.setIconBounds(behaviour.getIconLeft(frame.direction, frame.displacement, frame.viewWidth, iconWidth), iconWidth, iconHeight);
+            if (!frame.isIconRevealed()){
+                return null;
+            }
+            return iconBitmapCache.get(drawable, frame.densityDpi, Bitmap.Config.ALPHA_8);
+        }
+
+        @Override
+        void prewarm(int densityDpi) {
+            iconBitmapCache.get(drawable, densityDpi, Bitmap.Config.ALPHA_8);
+        }
+
+        /**
+         * @return the color of the most opaque pixel of the drawable, opaque black if it has no intrinsic size.
+         */
+        static int sampleColor(@NonNull Drawable drawable){
+            if (drawable.getIntrinsicWidth() <= 0 || drawable.getIntrinsicHeight() <= 0){
+                return Color.BLACK;
+            }
+
+            Bitmap bitmap = SwipeDecoration.drawableToBitmap(drawable);
+            int width = bitmap.getWidth();
+            int height = bitmap.getHeight();
+            // A single copy of the pixels, getPixel() goes through JNI for every pixel.
+            int[] pixels = new int[width * height];
+            bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
+
+            int color = Color.BLACK;
+            int maxAlpha = 0;
+            for (int pixel : pixels){
+                int alpha = pixel >>> 24;
+                if (alpha > maxAlpha){
+                    maxAlpha = alpha;
+                    color = pixel;
+                    if (alpha == 0xFF){
+                        break;
+                    }
+                }
+            }
+            if (!(drawable instanceof BitmapDrawable)){
+                bitmap.recycle();
+            }
+            return color | 0xFF000000;
+        }
+    }
+
+    /**
+     * Fades the mask in with the alpha of its Paint, used for {@link SwipeDecoration#ANIMATION_FADE}
+     * with {@link SwipeDecoration#ICON_MODE_MASK}.
+     */
+    static final class MaskFade extends Mask {
+
+        private final InterpolationCurve curve;
+
+        MaskFade(@NonNull Drawable drawable, @NonNull SwipeDecoration.IconBehaviour behaviour, @NonNull IconBitmapCache iconBitmapCache,
+                 int color, @NonNull InterpolationCurve curve){
+            super(drawable, behaviour, iconBitmapCache, color);
+            this.curve = curve;
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+            Bitmap mask = obtainMask(frame);
+            if (mask != null){
+                paint.setAlpha(Color.alpha(color) * fadeAlpha(frame, drawable.getIntrinsicWidth(), curve) / 255);
+                c.drawBitmap(mask, frame.iconBounds.left, frame.iconBounds.top, paint);
+            }
+        }
+
+        @NonNull
+        @Override
+        IconRenderer createDegraded() {
+            return new Mask(drawable, behaviour, iconBitmapCache, color);
+        }
+    }
+
+    /**
+     * Rotates the mask with a matrix, used for {@link SwipeDecoration#ANIMATION_ROTATE}
+     * with {@link SwipeDecoration#ICON_MODE_MASK}.
+     */
+    static final class MaskRotate extends Mask {
+
+        private final InterpolationCurve curve;
+
+        MaskRotate(@NonNull Drawable drawable, @NonNull SwipeDecoration.IconBehaviour behaviour, @NonNull IconBitmapCache iconBitmapCache,
+                   int color, @NonNull InterpolationCurve curve){
+            super(drawable, behaviour, iconBitmapCache, color);
+            this.curve = curve;
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+            Bitmap mask = obtainMask(frame);
+            if (mask == null){
+                return;
+            }
+
+            Matrix rotationMatrix = frame.matrix;
+            rotationMatrix.setRotate(rotationAngle(frame, curve), frame.iconBounds.width() / 2.0f, frame.iconBounds.height() / 2.0f);
+            rotationMatrix.postTranslate(frame.iconBounds.left, frame.iconBounds.top);
+            c.drawBitmap(mask, rotationMatrix, paint);
+        }
+
+        @NonNull
+        @Override
+        IconRenderer createDegraded() {
+            return new Mask(drawable, behaviour, iconBitmapCache, color);
+        }
+    }
+
+    // A full turn over the first half of the view.
+    static float rotationAngle(@NonNull SwipeFrame frame, @NonNull InterpolationCurve curve){
+        return curve.get(frame.displacement / (frame.viewWidth / 2.0f)) * 360;
+    }
+
+    // Fully opaque once the icon has been swiped to the center of the view.
+    static int fadeAlpha(@NonNull SwipeFrame frame, int iconWidth, @NonNull InterpolationCurve curve){
+        int alpha = (int) (curve.get(frame.displacement / ((frame.viewWidth + iconWidth) / 2.0f)) * 255);
+        return Math.max(0, Math.min(255, alpha));
+    }
+}
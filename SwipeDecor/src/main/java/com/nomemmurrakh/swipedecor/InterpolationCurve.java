@@ -0,0 +1,63 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.animation.TimeInterpolator;
+
+import androidx.annotation.Nullable;
+
+/**
+ * A {@link TimeInterpolator} sampled once into a lookup table, so that easing the fade,
+ * rotation or dynamic movement of an icon costs two array reads per frame. Values between
+ * samples are interpolated linearly. {@link #LINEAR} has no table, progress is used as is.
+ */
+final class InterpolationCurve {
+
+    // Fine enough for custom interpolators, values between samples are interpolated.
+    private static final int SAMPLES = 1024;
+
+    /**
+     *  Progress used as is, the default for every animation.
+     */
+    static final InterpolationCurve LINEAR = new InterpolationCurve(null);
+
+    // Null for LINEAR.
+    private final float[] samples;
+
+    private InterpolationCurve(@Nullable TimeInterpolator interpolator){
+        if (interpolator == null){
+            samples = null;
+            return;
+        }
+
+        samples = new float[SAMPLES + 1];
+        for (int i = 0; i <= SAMPLES; i++){
+            samples[i] = interpolator.getInterpolation(i / (float) SAMPLES);
+        }
+    }
+
+    /**
+     * @param interpolator to sample, null for {@link #LINEAR}.
+     */
+    static InterpolationCurve of(@Nullable TimeInterpolator interpolator){
+        return interpolator != null ? new InterpolationCurve(interpolator) : LINEAR;
+    }
+
+    /**
+     * @param progress between 0 and 1, clamped if outside.
+     * @return interpolated progress, may be outside of 0 and 1 for overshooting interpolators.
+     */
+    float get(float progress){
+        if (samples == null){
+            return Math.max(0f, Math.min(progress, 1f));
+        }
+        if (progress <= 0f){
+            return samples[0];
+        }
+        if (progress >= 1f){
+            return samples[SAMPLES];
+        }
+
+        float position = progress * SAMPLES;
+        int index = (int) position;
+        return samples[index] + (samples[index + 1] - samples[index]) * (position - index);
+    }
+}
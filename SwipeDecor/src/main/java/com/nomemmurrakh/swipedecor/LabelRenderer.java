@@ -0,0 +1,183 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Draws the text label uncovered by a swipe in one direction, beneath its icon.
+ * <p>
+ * Instances are created with the icon renderer of a direction, once its icon is loaded,
+ * so the label can follow the position of the icon.
+ */
+abstract class LabelRenderer {
+
+    /**
+     *  Used when no label is set for a direction.
+     */
+    static final LabelRenderer NONE = new LabelRenderer() {
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+        }
+    };
+
+    abstract void draw(@NonNull Canvas c, @NonNull SwipeFrame frame);
+
+    /**
+     * Drops the cached layouts, they are measured again by the next frame.
+     */
+    void clear(){
+    }
+
+    /**
+     * Draws a text with a {@link StaticLayout}, centered beneath the icon.
+     * <p>
+     * The text is laid out once for every width bucket, the width available to the label
+     * rounded down to {@link #WIDTH_BUCKET}, so items of about the same width share a layout
+     * and drawing a frame is a lookup and a single {@link Layout#draw(Canvas)}. Without an
+     * icon, the label itself is positioned by the behaviour and centered vertically. A label
+     * taller than the room left in the item is not drawn.
+     */
+    static final class Text extends LabelRenderer {
+
+        // Width steps in pixels, layouts are only measured again when the item width changes by more.
+        static final int WIDTH_BUCKET = 32;
+
+        static final int MAX_LINES = 2;
+
+        private final String text;
+        private final TextPaint paint;
+        private final int alpha;
+        private final SwipeDecoration.IconBehaviour behaviour;
+        private final int iconWidth;
+        private final int iconHeight;
+        private final InterpolationCurve fadeCurve;
+
+        // Width of the text on a single line.
+        private final int desiredWidth;
+
+        private final SparseArray<StaticLayout> layouts;
+
+        /**
+         * @param iconWidth intrinsic width of the icon the label is drawn beneath, 0 without an icon.
+         * @param iconHeight intrinsic height of the icon.
+         * @param fadeCurve used to fade the label in with the icon, null to draw it opaque.
+         */
+        Text(@NonNull String text, @Nullable Typeface typeface, float textSize, int color,
+             @NonNull SwipeDecoration.IconBehaviour behaviour, int iconWidth, int iconHeight,
+             @Nullable InterpolationCurve fadeCurve){
+            this.text = text;
+            this.paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+            this.paint.setTypeface(typeface);
+            this.paint.setTextSize(textSize);
+            this.paint.setColor(color);
+            this.alpha = Color.alpha(color);
+            this.behaviour = behaviour;
+            this.iconWidth = iconWidth;
+            this.iconHeight = iconHeight;
+            this.fadeCurve = fadeCurve;
+            this.desiredWidth = (int) Math.ceil(Layout.getDesiredWidth(text, paint));
+            this.layouts = new SparseArray<>();
+        }
+
+        @Override
+        void draw(@NonNull Canvas c, @NonNull SwipeFrame frame) {
+
+            int availableWidth = frame.viewWidth - 2 * SwipeDecoration.MARGIN;
+            if (availableWidth < WIDTH_BUCKET){
+                return;
+            }
+
+            StaticLayout layout = getLayout(availableWidth);
+            int width = layout.getWidth();
+            int height = layout.getHeight();
+            int left;
+            int top;
+            if (iconWidth > 0){
+                // Same rules as the icon, see SwipeFrame.setIconBounds().
+                left = behaviour.getIconLeft(frame.direction, frame.displacement, frame.viewWidth, iconWidth) + (iconWidth - width) / 2;
+                top = ((frame.viewHeight - iconHeight) / 2) + frame.viewTop + iconHeight + SwipeDecoration.MARGIN;
+            }else{
+                left = behaviour.getIconLeft(frame.direction, frame.displacement, frame.viewWidth, width);
+                top = ((frame.viewHeight - height) / 2) + frame.viewTop;
+            }
+            // An item too short for the label only shows its icon.
+            if (top < frame.viewTop || top + height > frame.viewBottom){
+                return;
+            }
+            // A label wider than its icon must not stick out of the item.
+            left = frame.viewLeft + Math.max(SwipeDecoration.MARGIN, Math.min(left, frame.viewWidth - SwipeDecoration.MARGIN - width));
+
+            Rect labelBounds = frame.labelBounds;
+            labelBounds.set(left, top, left + width, top + height);
+            if (!Rect.intersects(frame.revealBounds, labelBounds)){
+                return;
+            }
+
+            if (fadeCurve != null){
+                paint.setAlpha(alpha * IconRenderer.fadeAlpha(frame, iconWidth > 0 ? iconWidth : width, fadeCurve) / 255);
+            }
+
+            c.translate(left, top);
+            layout.draw(c);
+            c.translate(-left, -top);
+        }
+
+        @Override
+        void clear() {
+            layouts.clear();
+        }
+
+        /**
+         * @param availableWidth width the label can take, at least {@link #WIDTH_BUCKET}.
+         * @return layout of the label for the bucket of the width, measured on first use.
+         */
+        @NonNull
+        StaticLayout getLayout(int availableWidth){
+            int bucket = availableWidth / WIDTH_BUCKET;
+            StaticLayout layout = layouts.get(bucket);
+            if (layout == null){
+                layout = createLayout(Math.min(desiredWidth, bucket * WIDTH_BUCKET));
+                layouts.put(bucket, layout);
+            }
+            return layout;
+        }
+
+        private StaticLayout createLayout(int width){
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M){
+                return StaticLayout.Builder.obtain(text, 0, text.length(), paint, width)
+                        .setAlignment(Layout.Alignment.ALIGN_CENTER)
+                        .setIncludePad(false)
+                        .setMaxLines(MAX_LINES)
+                        .setEllipsize(TextUtils.TruncateAt.END)
+                        .build();
+            }
+
+            // Before M, the line count can't be limited, the text is cut to MAX_LINES beforehand.
+            StaticLayout layout = new StaticLayout(text, paint, width, Layout.Alignment.ALIGN_CENTER, 1f, 0f, false);
+            if (layout.getLineCount() <= MAX_LINES){
+                return layout;
+            }
+
+            int lastLineStart = layout.getLineStart(MAX_LINES - 1);
+            // Line breaks of the last line are dropped, so it can't wrap again.
+            String lastLine = text.substring(lastLineStart).replace('\n', ' ');
+            String truncated = text.substring(0, lastLineStart)
+                    + TextUtils.ellipsize(lastLine, paint, width, TextUtils.TruncateAt.END);
+            return new StaticLayout(truncated, paint, width, Layout.Alignment.ALIGN_CENTER, 1f, 0f, false);
+        }
+
+    }
+}
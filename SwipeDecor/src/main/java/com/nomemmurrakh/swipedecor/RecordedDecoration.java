@@ -0,0 +1,95 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.graphics.Canvas;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+/**
+ * Records the decoration of one direction into a {@link RenderNode}, and replays it on
+ * every frame instead of drawing the background and icon again.
+ * <p>
+ * Only used when the content does not change while swiping, i.e. a color background or a
+ * gradient with {@link SwipeDecoration#BACKGROUND_MODE_FIXED}, in any shape but
+ * {@link SwipeDecoration#BACKGROUND_SHAPE_ROUNDED}, and an icon with {@link SwipeDecoration#BEHAVIOUR_STATIC_START} or
+ * {@link SwipeDecoration#BEHAVIOUR_STATIC_CENTER} and {@link SwipeDecoration#NO_ANIMATION}, and its label if any.
+ * The decoration is recorded for the whole item, and the canvas is already clipped to the
+ * revealed area by {@link SwipeDecoration}. It is recorded again only when the item size
+ * or display density changes.
+ */
+@RequiresApi(Build.VERSION_CODES.Q)
+final class RecordedDecoration {
+
+    private final BackgroundRenderer backgroundRenderer;
+    private final IconRenderer iconRenderer;
+    private final LabelRenderer labelRenderer;
+
+    private final RenderNode renderNode;
+    private final SwipeFrame recordingFrame;
+
+    private int recordedLeft;
+    private int recordedRight;
+    private int recordedHeight;
+    private int recordedDensityDpi;
+
+    RecordedDecoration(@NonNull BackgroundRenderer backgroundRenderer, @NonNull IconRenderer iconRenderer,
+                       @NonNull LabelRenderer labelRenderer){
+        this.backgroundRenderer = backgroundRenderer;
+        this.iconRenderer = iconRenderer;
+        this.labelRenderer = labelRenderer;
+        this.renderNode = new RenderNode("SwipeDecoration");
+        this.recordingFrame = new SwipeFrame();
+    }
+
+    /**
+     * Replays the recorded decoration, recording it first if needed.
+     * @return false if the canvas can't draw render nodes, the caller must draw the decoration itself.
+     */
+    boolean draw(@NonNull Canvas c, @NonNull SwipeFrame frame){
+
+        if (!c.isHardwareAccelerated()){
+            return false;
+        }
+
+        if (!renderNode.hasDisplayList() || frame.viewLeft != recordedLeft || frame.viewRight != recordedRight
+                || frame.viewHeight != recordedHeight || frame.densityDpi != recordedDensityDpi){
+            record(frame);
+        }
+
+        c.translate(0, frame.viewTop);
+        c.drawRenderNode(renderNode);
+        c.translate(0, -frame.viewTop);
+        return true;
+    }
+
+    /**
+     * Drops the recorded display list, it is recorded again on the next frame.
+     */
+    void clear(){
+        renderNode.discardDisplayList();
+    }
+
+    private void record(SwipeFrame frame){
+
+        recordedLeft = frame.viewLeft;
+        recordedRight = frame.viewRight;
+        recordedHeight = frame.viewHeight;
+        recordedDensityDpi = frame.densityDpi;
+
+        // The whole item revealed, relative to its top.
+        recordingFrame.setFullyRevealed(frame);
+        renderNode.setPosition(0, 0, frame.viewRight, frame.viewHeight);
+
+        RecordingCanvas canvas = renderNode.beginRecording();
+        try {
+            backgroundRenderer.draw(canvas, recordingFrame);
+            iconRenderer.draw(canvas, recordingFrame);
+            labelRenderer.draw(canvas, recordingFrame);
+        } finally {
+            renderNode.endRecording();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A sprite sheet of an icon rotated a full turn in equal steps, used for
+ * {@link SwipeDecoration#ROTATION_MODE_SPRITE}.
+ * <p>
+ * Frames are laid out in a grid of square cells, each large enough to hold the icon at
+ * any angle with the icon centered in it. Drawing a frame is a plain blit of its cell.
+ * Instances are immutable once rendered, so they can be created on any thread.
+ */
+final class RotationSprite {
+
+    final Bitmap bitmap;
+    // Intrinsic size of the drawable, the rasterized icon may differ, e.g. a density scaled BitmapDrawable.
+    final int iconWidth;
+    final int iconHeight;
+    final int densityDpi;
+    final int frameCount;
+    final int cellSize;
+    final int columns;
+
+    private RotationSprite(Bitmap bitmap, int iconWidth, int iconHeight, int densityDpi, int frameCount, int cellSize, int columns){
+        this.bitmap = bitmap;
+        this.iconWidth = iconWidth;
+        this.iconHeight = iconHeight;
+        this.densityDpi = densityDpi;
+        this.frameCount = frameCount;
+        this.cellSize = cellSize;
+        this.columns = columns;
+    }
+
+    /**
+     * Renders every frame of the sprite.
+     * @param icon rasterized icon, drawn rotated into each cell.
+     * @param iconWidth intrinsic width of the drawable the icon was rasterized from.
+     * @param iconHeight intrinsic height of the drawable the icon was rasterized from.
+     * @param frameCount number of angle steps of a full turn.
+     * @param densityDpi display density the icon was rasterized for.
+     */
+    @NonNull
+    static RotationSprite render(@NonNull Bitmap icon, int iconWidth, int iconHeight, int frameCount, int densityDpi){
+
+        int bitmapWidth = icon.getWidth();
+        int bitmapHeight = icon.getHeight();
+        int cellSize = (int) Math.ceil(Math.hypot(bitmapWidth, bitmapHeight));
+        int columns = (int) Math.ceil(Math.sqrt(frameCount));
+        int rows = (frameCount + columns - 1) / columns;
+
+        Bitmap bitmap = Bitmap.createBitmap(columns * cellSize, rows * cellSize, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG | Paint.ANTI_ALIAS_FLAG);
+        Matrix matrix = new Matrix();
+
+        for (int i = 0; i < frameCount; i++){
+            matrix.setRotate(i * 360f / frameCount, bitmapWidth / 2.0f, bitmapHeight / 2.0f);
+            matrix.postTranslate((i % columns) * cellSize + (cellSize - bitmapWidth) / 2.0f,
+                    (i / columns) * cellSize + (cellSize - bitmapHeight) / 2.0f);
+            canvas.drawBitmap(icon, matrix, paint);
+        }
+
+        return new RotationSprite(bitmap, iconWidth, iconHeight, densityDpi, frameCount, cellSize, columns);
+    }
+
+    /**
+     * @param iconWidth intrinsic width of the drawable.
+     * @param iconHeight intrinsic height of the drawable.
+     * @return true if the sprite was rendered from a drawable of this size, at this density.
+     */
+    boolean matches(int iconWidth, int iconHeight, int densityDpi){
+        return this.iconWidth == iconWidth && this.iconHeight == iconHeight && this.densityDpi == densityDpi;
+    }
+
+    /**
+     * @param angle in degrees, any value.
+     * @return index of the frame nearest to the angle.
+     */
+    int frameIndex(float angle){
+        int index = Math.round(angle * frameCount / 360f) % frameCount;
+        return index < 0 ? index + frameCount : index;
+    }
+
+    /**
+     * Sets the bounds of a frame inside {@link #bitmap}.
+     */
+    void getFrameBounds(int index, @NonNull Rect out){
+        int left = (index % columns) * cellSize;
+        int top = (index / columns) * cellSize;
+        out.set(left, top, left + cellSize, top + cellSize);
+    }
+}
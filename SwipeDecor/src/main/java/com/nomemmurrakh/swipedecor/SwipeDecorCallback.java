@@ -0,0 +1,175 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.graphics.Canvas;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import androidx.collection.SimpleArrayMap;
+import androidx.recyclerview.widget.ItemTouchHelper;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+
+/**
+ * An {@link ItemTouchHelper.SimpleCallback} for swiping, that applies a {@link SwipeDecoration}.
+ * <p>
+ * Only {@link #onSwiped(RecyclerView.ViewHolder, int)} has to be implemented, moving is disabled
+ * by default. The decoration is applied in <code>OnChildDraw</code> and the state kept for an
+ * item is released in <code>clearView</code>.
+ * <p>
+ * Nothing is drawn for items that are not displaced by a whole pixel. On API 29+ the decoration
+ * of an item that has stopped moving is recorded, and replayed as is while its displacement and
+ * position don't change, e.g. when the list is redrawn for another item. Items that move are
+ * drawn directly, with adaptive quality if enabled, a recording would only be used once.
+ * Replayed frames are not seen by adaptive quality, they cost about nothing to draw.
+ * Animated icons are always drawn again.
+ * <p>
+ * A callback keeps its own {@link SwipeDecoration.RenderState}, so one decoration can be shared
+ * by the callbacks of many lists. Attach a new callback to every list.
+ * <pre>
+ * new ItemTouchHelper(new SwipeDecorCallback(decoration, ItemTouchHelper.LEFT | ItemTouchHelper.RIGHT) {
+ *     public void onSwiped(RecyclerView.ViewHolder viewHolder, int direction) {
+ *         ...
+ *     }
+ * }).attachToRecyclerView(recyclerView);
+ * </pre>
+ */
+public abstract class SwipeDecorCallback extends ItemTouchHelper.SimpleCallback {
+
+    private final SwipeDecoration decoration;
+    private final SwipeDecoration.RenderState renderState;
+
+    // Recorded decorations of the items being swiped, only used on API 29+.
+    private final SimpleArrayMap<RecyclerView.ViewHolder, Object> replays;
+    private final ArrayList<Object> freeReplays;
+
+    /**
+     * @param decoration applied to swiped items.
+     * @param swipeDirs {@link ItemTouchHelper#LEFT} and/or {@link ItemTouchHelper#RIGHT}.
+     */
+    public SwipeDecorCallback(@NonNull SwipeDecoration decoration, int swipeDirs){
+        super(0, swipeDirs);
+        this.decoration = decoration;
+        this.renderState = decoration.newRenderState();
+        this.replays = new SimpleArrayMap<>();
+        this.freeReplays = new ArrayList<>();
+    }
+
+    public SwipeDecoration getDecoration() {
+        return decoration;
+    }
+
+    @Override
+    public boolean onMove(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder, @NonNull RecyclerView.ViewHolder target) {
+        return false;
+    }
+
+    @Override
+    public void onChildDraw(@NonNull Canvas c, @NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder, float dX, float dY, int actionState, boolean isCurrentlyActive) {
+        super.onChildDraw(c, recyclerView, viewHolder, dX, dY, actionState, isCurrentlyActive);
+
+        // The decoration only changes with whole pixels of displacement.
+        int displacement = (int) dX;
+        if (actionState != ItemTouchHelper.ACTION_STATE_SWIPE || displacement == 0){
+            return;
+        }
+
+        int direction = displacement > 0 ? SwipeDecoration.DIRECTION_RIGHT : SwipeDecoration.DIRECTION_LEFT;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && c.isHardwareAccelerated() && decoration.isReplayable(direction)){
+            obtainReplay(viewHolder).draw(c, recyclerView, viewHolder, decoration, renderState, displacement);
+            return;
+        }
+
+        decoration.applyDecoration(c, viewHolder, displacement, renderState);
+    }
+
+    @Override
+    public void clearView(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder) {
+        super.clearView(recyclerView, viewHolder);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q){
+            Object replay = replays.remove(viewHolder);
+            if (replay != null){
+                ((Replay) replay).reset();
+                freeReplays.add(replay);
+            }
+        }
+        decoration.clearView(viewHolder, renderState);
+    }
+
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private Replay obtainReplay(RecyclerView.ViewHolder viewHolder){
+
+        Replay replay = (Replay) replays.get(viewHolder);
+        if (replay == null){
+            replay = freeReplays.isEmpty() ? new Replay() : (Replay) freeReplays.remove(freeReplays.size() - 1);
+            replays.put(viewHolder, replay);
+        }
+        return replay;
+    }
+
+    /**
+     * @return state of the list this callback is attached to.
+     */
+    SwipeDecoration.RenderState getRenderState() {
+        return renderState;
+    }
+
+    /**
+     * The decoration of one item, recorded once the item stops moving, for its displacement
+     * and position.
+     */
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private static final class Replay {
+
+        private final RenderNode renderNode = new RenderNode("SwipeDecorCallback");
+
+        // Of the last frame, 0 before the first one.
+        private int displacement;
+        private int left;
+        private int top;
+        private int right;
+        private int bottom;
+
+        void draw(Canvas c, RecyclerView recyclerView, RecyclerView.ViewHolder viewHolder, SwipeDecoration decoration,
+                  SwipeDecoration.RenderState renderState, int displacement){
+
+            View view = viewHolder.itemView;
+            if (this.displacement != displacement || left != view.getLeft() || top != view.getTop()
+                    || right != view.getRight() || bottom != view.getBottom()){
+
+                this.displacement = displacement;
+                left = view.getLeft();
+                top = view.getTop();
+                right = view.getRight();
+                bottom = view.getBottom();
+
+                // Still moving, the recording would be stale by the next frame.
+                renderNode.discardDisplayList();
+                decoration.applyDecoration(c, viewHolder, displacement, renderState);
+                return;
+            }
+
+            if (!renderNode.hasDisplayList()){
+                renderNode.setPosition(0, 0, recyclerView.getWidth(), recyclerView.getHeight());
+                RecordingCanvas canvas = renderNode.beginRecording();
+                try {
+                    decoration.applyDecoration(canvas, viewHolder, displacement, renderState);
+                } finally {
+                    renderNode.endRecording();
+                }
+            }
+
+            c.drawRenderNode(renderNode);
+        }
+
+        void reset(){
+            renderNode.discardDisplayList();
+            displacement = 0;
+        }
+    }
+}
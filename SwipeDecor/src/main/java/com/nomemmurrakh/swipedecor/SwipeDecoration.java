@@ -1,23 +1,39 @@
 package com.nomemmurrakh.swipedecor;
 
+import android.animation.TimeInterpolator;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.Matrix;
-import android.graphics.Rect;
+import android.graphics.Color;
+import android.graphics.Typeface;
 import android.graphics.drawable.AnimatedVectorDrawable;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.GradientDrawable;
+import android.os.AsyncTask;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
 import android.view.View;
 
 import androidx.annotation.DrawableRes;
 import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
 import androidx.core.app.ActivityCompat;
+import androidx.core.os.TraceCompat;
 import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.vectordrawable.graphics.drawable.AnimatedVectorDrawableCompat;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * A simple class for applying decoration to RecyclerView when user swipes left or right.
@@ -27,10 +43,17 @@ import androidx.recyclerview.widget.RecyclerView;
  * <p>
  * This class is tested with {@link ItemTouchHelper} utility class. You may build
  * SwipeDecoration outside of {@link ItemTouchHelper}. Always Remember to call
- * {@link SwipeDecoration#applyDecoration(Canvas, RecyclerView.ViewHolder, Float)} inside
+ * {@link SwipeDecoration#applyDecoration(Canvas, RecyclerView.ViewHolder, float)} inside
  * <code>OnChildDraw</code> of {@link ItemTouchHelper} callback.
  * <p>
- * This class also supports {@link AnimatedVectorDrawable}.
+ * This class also supports animated vector drawables, through {@link AnimatedVectorDrawableCompat}
+ * on every API level.
+ * <p>
+ * The options of a SwipeDecoration can't change once built, so it can be shared by many
+ * RecyclerViews, each drawing it with its own {@link RenderState}. Drawables, icon bitmaps and
+ * renderers are loaded once and shared by all of them. Drawing is not thread safe: the shared
+ * renderers reuse their drawables, rects, paths and paints on every frame, so every list
+ * sharing a decoration must draw it on the main thread.
  * <p>
  * @author Khurram Memon
  * @version 1.0
@@ -61,6 +84,11 @@ public class SwipeDecoration {
      */
     public static final int BEHAVIOUR_DYNAMIC = 7;
 
+    /**
+     *  Custom icon position, set when an {@link IconBehaviour} is given to the Builder.
+     */
+    public static final int BEHAVIOUR_CUSTOM = 11;
+
     /**
      *  Icon Animation, used to apply fade effect on the icon.
      */
@@ -76,6 +104,84 @@ public class SwipeDecoration {
      */
     public static final int NO_ANIMATION = 10;
 
+    /**
+     *  Rotation mode, used to rotate a rasterized copy of the icon with a matrix.
+     */
+    public static final int ROTATION_MODE_BITMAP = 12;
+
+    /**
+     *  Rotation mode, used to rotate the icon with the canvas, keeping vector icons sharp
+     *  on hardware accelerated canvases. Software canvases use {@link #ROTATION_MODE_BITMAP}.
+     */
+    public static final int ROTATION_MODE_CANVAS = 13;
+
+    /**
+     *  Rotation mode, used to blit the nearest frame of a sprite sheet of the icon rotated in
+     *  equal steps, rendered in the background. Cheapest on devices where transformed bitmap
+     *  draws are slow, at the cost of the memory of the sprite sheet.
+     */
+    public static final int ROTATION_MODE_SPRITE = 18;
+
+    /**
+     *  Default number of frames of a full turn with {@link #ROTATION_MODE_SPRITE}.
+     */
+    public static final int DEFAULT_ROTATION_SPRITE_FRAMES = 24;
+
+    /**
+     *  Background mode, used to stretch gradient backgrounds over the revealed area,
+     *  the gradient is laid out again on every frame.
+     */
+    public static final int BACKGROUND_MODE_STRETCH = 14;
+
+    /**
+     *  Background mode, used to lay gradient backgrounds out once over the whole item and
+     *  reveal them as the view is swiped, costs about the same per frame as a color background.
+     */
+    public static final int BACKGROUND_MODE_FIXED = 15;
+
+    /**
+     *  Background shape, used to fill the revealed area as a rectangle.
+     */
+    public static final int BACKGROUND_SHAPE_RECT = 19;
+
+    /**
+     *  Background shape, used to round every corner of the revealed area, which leaves a
+     *  rounded edge next to the swiped view.
+     */
+    public static final int BACKGROUND_SHAPE_ROUNDED = 20;
+
+    /**
+     *  Background shape, used to round the corners of the item, so the background revealed
+     *  behind a rounded card does not poke out of its corners.
+     */
+    public static final int BACKGROUND_SHAPE_CARD = 21;
+
+    /**
+     *  Icon mode, used to draw icons as they are.
+     */
+    public static final int ICON_MODE_DRAWABLE = 16;
+
+    /**
+     *  Icon mode, used to draw monochrome icons as {@link Bitmap.Config#ALPHA_8} masks tinted
+     *  with a single color, a quarter of the memory of a full color bitmap.
+     */
+    public static final int ICON_MODE_MASK = 17;
+
+    /**
+     *  Default text size of labels, in sp.
+     */
+    public static final float DEFAULT_LABEL_TEXT_SIZE = 14f;
+
+    /**
+     *  Default draw budget of adaptive quality, average time the decoration may take to draw all the items of a frame.
+     */
+    public static final long ADAPTIVE_DEFAULT_DRAW_BUDGET_NANOS = 2000000L;
+
+    /**
+     *  Default velocity threshold of adaptive quality, in dp per second.
+     */
+    public static final float ADAPTIVE_DEFAULT_MAX_VELOCITY = 3000f;
+
     /**
      *  Left direction, used to detect swiping.
      */
@@ -91,48 +197,366 @@ public class SwipeDecoration {
      */
     public static final int MARGIN = 10;
 
-    private Context context;
+    private static final String TRACE_BACKGROUND = "SwipeDecoration:background";
+    private static final String TRACE_ICON = "SwipeDecoration:icon";
 
-    private Integer iconLeftBehaviour;
-    private Integer iconRightBehaviour;
+    // Everything set by the Builder is final, only the icons are loaded later, once.
+    private final Context context;
 
-    private Integer iconLeftAnimation;
-    private Integer iconRightAnimation;
+    private final int iconLeftBehaviour;
+    private final int iconRightBehaviour;
 
-    private Drawable iconLeftDrawable;
-    private Drawable iconRightDrawable;
+    private final int iconLeftAnimation;
+    private final int iconRightAnimation;
 
-    private AnimatedVectorDrawable iconLeftAnimDrawable;
-    private AnimatedVectorDrawable iconRightAnimDrawable;
+    private final IconBehaviour iconLeftBehaviourImpl;
+    private final IconBehaviour iconRightBehaviourImpl;
 
-    private Integer backgroundLeftColor;
-    private ColorDrawable backgroundLeftColorDrawable;
-    private GradientDrawable backgroundLeftGradientDrawable;
+    // Icon resources are only loaded once their direction is swiped, by whichever thread gets there first.
+    @DrawableRes private final int iconLeftResource;
+    @DrawableRes private final int iconRightResource;
+    @DrawableRes private final int iconLeftAnimResource;
+    @DrawableRes private final int iconRightAnimResource;
+    private volatile boolean leftPrepared;
+    private volatile boolean rightPrepared;
 
-    private Integer backgroundRightColor;
-    private ColorDrawable backgroundRightColorDrawable;
-    private GradientDrawable backgroundRightGradientDrawable;
+    private Drawable iconLeftDrawable;
+    private Drawable iconRightDrawable;
 
-    private Matrix rotationMatrix;
+    private AnimatedVectorDrawableCompat iconLeftAnimDrawable;
+    private AnimatedVectorDrawableCompat iconRightAnimDrawable;
+
+    // Handed out by the getters, inflated once on first use. Never drawn by the decoration.
+    private AnimatedVectorDrawableCompat iconLeftAnimDrawableCopy;
+    private AnimatedVectorDrawableCompat iconRightAnimDrawableCopy;
+    private AnimatedVectorDrawable iconLeftPlatformAnimDrawable;
+    private AnimatedVectorDrawable iconRightPlatformAnimDrawable;
+
+    private final Integer backgroundLeftColor;
+    private final ColorDrawable backgroundLeftColorDrawable;
+    private final GradientDrawable backgroundLeftGradientDrawable;
+
+    private final Integer backgroundRightColor;
+    private final ColorDrawable backgroundRightColorDrawable;
+    private final GradientDrawable backgroundRightGradientDrawable;
+
+    private final int rotationMode;
+    private final int rotationSpriteFrames;
+    private final Executor rotationSpriteExecutor;
+    private final int backgroundMode;
+    private final int backgroundShape;
+    private final float backgroundCornerRadius;
+    private final int iconMode;
+
+    // Colors of icon masks, sampled from the icons when null.
+    private final Integer iconLeftMaskColor;
+    private final Integer iconRightMaskColor;
+
+    // Labels drawn beneath the icons, null when not set. Text sizes are in pixels.
+    private final String labelLeft;
+    private final String labelRight;
+    private final Typeface labelLeftTypeface;
+    private final Typeface labelRightTypeface;
+    private final float labelLeftTextSize;
+    private final float labelRightTextSize;
+    private final int labelLeftColor;
+    private final int labelRightColor;
+
+    private final InterpolationCurve fadeCurve;
+    private final InterpolationCurve rotationCurve;
+
+    private final IconBitmapCache iconBitmapCache;
+
+    // Registered on the first frame, so caches are only ever trimmed on the main thread.
+    private boolean trimRegistered;
+
+    // Compiled from the options above by the Builder, one of each for every direction.
+    private final BackgroundRenderer leftBackgroundRenderer;
+    private final BackgroundRenderer rightBackgroundRenderer;
+    private IconRenderer leftIconRenderer;
+    private IconRenderer rightIconRenderer;
+    private LabelRenderer leftLabelRenderer;
+    private LabelRenderer rightLabelRenderer;
+
+    // Cheaper icon renderers, used when adaptive quality is enabled on the Builder.
+    private final boolean adaptiveQualityEnabled;
+    private final long adaptiveDrawBudgetNanos;
+    private final float adaptiveMaxVelocity;
+    private IconRenderer leftDegradedIconRenderer;
+    private IconRenderer rightDegradedIconRenderer;
+
+    // True when a direction can be replayed from a display list instead of the renderers above.
+    private boolean leftRecordable;
+    private boolean rightRecordable;
+
+    // State of the lists drawing this decoration, so their display lists can be dropped.
+    private final Set<RenderState> renderStates;
+
+    // Used by applyDecoration() and clearView() when no render state is given.
+    private final RenderState defaultRenderState;
+
+    // Optional instrumentation, both are off unless set on the Builder.
+    private final DecorationMetricsListener metricsListener;
+    private final boolean tracingEnabled;
+    private final boolean instrumented;
+    private final DecorationMetrics metrics;
 
     // Private constructor
     private SwipeDecoration(Builder builder) {
         this.context = builder.context;
-        this.iconLeftBehaviour = builder.iconLeftBehaviour;
-        this.iconRightBehaviour = builder.iconRightBehaviour;
-        this.iconLeftAnimation = builder.iconLeftAnimation;
-        this.iconRightAnimation = builder.iconRightAnimation;
-        this.iconLeftDrawable = builder.iconLeftDrawable;
-        this.iconRightDrawable = builder.iconRightDrawable;
-        this.iconLeftAnimDrawable = builder.iconLeftAnimDrawable;
-        this.iconRightAnimDrawable = builder.iconRightAnimDrawable;
-        this.backgroundLeftGradientDrawable = builder.backgroundLeftGradientDrawable;
-        this.backgroundLeftColorDrawable = builder.backgroundLeftColorDrawable;
+        this.iconLeftBehaviour = builder.iconLeftBehaviour != null ? builder.iconLeftBehaviour : BEHAVIOUR_STATIC_START;
+        this.iconRightBehaviour = builder.iconRightBehaviour != null ? builder.iconRightBehaviour : BEHAVIOUR_STATIC_START;
+        this.iconLeftAnimation = builder.iconLeftAnimation != null ? builder.iconLeftAnimation : NO_ANIMATION;
+        this.iconRightAnimation = builder.iconRightAnimation != null ? builder.iconRightAnimation : NO_ANIMATION;
+        this.iconLeftResource = builder.iconLeftResource;
+        this.iconRightResource = builder.iconRightResource;
+        // Drawables given to the Builder are copied, so changing them afterwards does not change the decoration.
+        this.iconLeftDrawable = copyOf(builder.iconLeftDrawable);
+        this.iconRightDrawable = copyOf(builder.iconRightDrawable);
+        this.iconLeftAnimResource = builder.iconLeftAnimResource;
+        this.iconRightAnimResource = builder.iconRightAnimResource;
+        this.backgroundLeftGradientDrawable = copyOf(builder.backgroundLeftGradientDrawable);
         this.backgroundLeftColor = builder.backgroundLeftColor;
-        this.backgroundRightGradientDrawable = builder.backgroundRightGradientDrawable;
-        this.backgroundRightColorDrawable = builder.backgroundRightColorDrawable;
+        this.backgroundLeftColorDrawable = builder.backgroundLeftColorDrawable != null ? copyOf(builder.backgroundLeftColorDrawable)
+                : backgroundLeftColor != null ? new ColorDrawable(backgroundLeftColor) : null;
+        this.backgroundRightGradientDrawable = copyOf(builder.backgroundRightGradientDrawable);
         this.backgroundRightColor = builder.backgroundRightColor;
-        rotationMatrix = new Matrix();
+        this.backgroundRightColorDrawable = builder.backgroundRightColorDrawable != null ? copyOf(builder.backgroundRightColorDrawable)
+                : backgroundRightColor != null ? new ColorDrawable(backgroundRightColor) : null;
+        this.rotationMode = builder.rotationMode;
+        this.rotationSpriteFrames = builder.rotationSpriteFrames;
+        this.rotationSpriteExecutor = builder.rotationSpriteExecutor != null ? builder.rotationSpriteExecutor : AsyncTask.THREAD_POOL_EXECUTOR;
+        this.backgroundMode = builder.backgroundMode;
+        // Without a radius every shape is a rectangle, and drawn as one.
+        this.backgroundCornerRadius = Math.max(0, builder.backgroundCornerRadius);
+        this.backgroundShape = backgroundCornerRadius > 0 ? builder.backgroundShape : BACKGROUND_SHAPE_RECT;
+        this.iconMode = builder.iconMode;
+        this.iconLeftMaskColor = builder.iconLeftMaskColor;
+        this.iconRightMaskColor = builder.iconRightMaskColor;
+        this.labelLeft = builder.labelLeft != null ? builder.labelLeft.toString() : null;
+        this.labelRight = builder.labelRight != null ? builder.labelRight.toString() : null;
+        this.labelLeftTypeface = builder.labelLeftTypeface;
+        this.labelRightTypeface = builder.labelRightTypeface;
+        DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+        this.labelLeftTextSize = TypedValue.applyDimension(builder.labelLeftTextSizeUnit, builder.labelLeftTextSize, displayMetrics);
+        this.labelRightTextSize = TypedValue.applyDimension(builder.labelRightTextSizeUnit, builder.labelRightTextSize, displayMetrics);
+        this.labelLeftColor = builder.labelLeftColor;
+        this.labelRightColor = builder.labelRightColor;
+
+        iconBitmapCache = new IconBitmapCache(IconBitmapCache.DEFAULT_MAX_ENTRIES);
+
+        metricsListener = builder.metricsListener;
+        tracingEnabled = builder.tracingEnabled;
+        instrumented = metricsListener != null || tracingEnabled;
+        metrics = new DecorationMetrics();
+
+        leftBackgroundRenderer = createBackgroundRenderer(backgroundLeftGradientDrawable, backgroundLeftColorDrawable,
+                backgroundMode, backgroundShape, backgroundCornerRadius);
+        rightBackgroundRenderer = createBackgroundRenderer(backgroundRightGradientDrawable, backgroundRightColorDrawable,
+                backgroundMode, backgroundShape, backgroundCornerRadius);
+        // Interpolators are sampled here, drawing a frame only reads the samples.
+        fadeCurve = InterpolationCurve.of(builder.fadeInterpolator);
+        rotationCurve = InterpolationCurve.of(builder.rotationInterpolator);
+        InterpolationCurve dynamicCurve = InterpolationCurve.of(builder.dynamicInterpolator);
+
+        iconLeftBehaviourImpl = builder.iconLeftCustomBehaviour != null ? builder.iconLeftCustomBehaviour : IconBehaviours.of(iconLeftBehaviour, dynamicCurve);
+        iconRightBehaviourImpl = builder.iconRightCustomBehaviour != null ? builder.iconRightCustomBehaviour : IconBehaviours.of(iconRightBehaviour, dynamicCurve);
+
+        // Icons are loaded by prepareLeft() and prepareRight() once a direction is first swiped.
+        leftIconRenderer = IconRenderer.NONE;
+        rightIconRenderer = IconRenderer.NONE;
+        leftDegradedIconRenderer = IconRenderer.NONE;
+        rightDegradedIconRenderer = IconRenderer.NONE;
+        leftLabelRenderer = LabelRenderer.NONE;
+        rightLabelRenderer = LabelRenderer.NONE;
+
+        adaptiveQualityEnabled = builder.adaptiveQualityEnabled;
+        adaptiveDrawBudgetNanos = builder.adaptiveDrawBudgetNanos;
+        adaptiveMaxVelocity = builder.adaptiveMaxVelocity;
+
+        renderStates = Collections.newSetFromMap(new WeakHashMap<RenderState, Boolean>());
+        defaultRenderState = newRenderState();
+    }
+
+    /**
+     * Loads the icon of the left side and creates its renderers, the first time a view
+     * is swiped to the right. Synchronized, so the icon is loaded once even when several
+     * threads get there at the same time, e.g. a getter and buildAsync().
+     */
+    private synchronized void prepareLeft(){
+
+        if (leftPrepared){
+            return;
+        }
+        if (iconLeftResource != 0){
+            iconLeftDrawable = ActivityCompat.getDrawable(context, iconLeftResource);
+        }
+        iconLeftAnimDrawable = getAnimatedVectorDrawable(context, iconLeftAnimResource);
+
+        leftIconRenderer = createIconRenderer(iconLeftDrawable, iconLeftAnimDrawable, iconLeftAnimResource, iconLeftAnimation, iconLeftBehaviourImpl, iconLeftMaskColor);
+        leftDegradedIconRenderer = leftIconRenderer.createDegraded();
+        leftLabelRenderer = createLabelRenderer(labelLeft, labelLeftTypeface, labelLeftTextSize, labelLeftColor,
+                iconLeftAnimDrawable != null ? iconLeftAnimDrawable : iconLeftDrawable, iconLeftAnimDrawable != null, iconLeftAnimation, iconLeftBehaviourImpl);
+
+        leftRecordable = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                && isStatic(backgroundLeftGradientDrawable, backgroundMode, backgroundShape, iconLeftAnimDrawable, iconLeftBehaviour, iconLeftAnimation);
+        leftPrepared = true;
+    }
+
+    /**
+     * Loads the icon of the right side and creates its renderers, the first time a view
+     * is swiped to the left.
+     */
+    private synchronized void prepareRight(){
+
+        if (rightPrepared){
+            return;
+        }
+        if (iconRightResource != 0){
+            iconRightDrawable = ActivityCompat.getDrawable(context, iconRightResource);
+        }
+        iconRightAnimDrawable = getAnimatedVectorDrawable(context, iconRightAnimResource);
+
+        rightIconRenderer = createIconRenderer(iconRightDrawable, iconRightAnimDrawable, iconRightAnimResource, iconRightAnimation, iconRightBehaviourImpl, iconRightMaskColor);
+        rightDegradedIconRenderer = rightIconRenderer.createDegraded();
+        rightLabelRenderer = createLabelRenderer(labelRight, labelRightTypeface, labelRightTextSize, labelRightColor,
+                iconRightAnimDrawable != null ? iconRightAnimDrawable : iconRightDrawable, iconRightAnimDrawable != null, iconRightAnimation, iconRightBehaviourImpl);
+
+        rightRecordable = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                && isStatic(backgroundRightGradientDrawable, backgroundMode, backgroundShape, iconRightAnimDrawable, iconRightBehaviour, iconRightAnimation);
+        rightPrepared = true;
+    }
+
+    // Wraps the platform drawable on API 24+, so it runs on the RenderThread from API 25.
+    private static AnimatedVectorDrawableCompat getAnimatedVectorDrawable(Context context, @DrawableRes int resource){
+        if (resource != 0){
+            return AnimatedVectorDrawableCompat.create(context, resource);
+        }
+        return null;
+    }
+
+    private static AnimatedVectorDrawable getPlatformAnimatedVectorDrawable(Context context, @DrawableRes int resource){
+        if (resource != 0 && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP){
+            return (AnimatedVectorDrawable) ActivityCompat.getDrawable(context, resource);
+        }
+        return null;
+    }
+
+    // A mutable copy sharing the constant state of the drawable, e.g. its bitmap or path data.
+    @SuppressWarnings("unchecked")
+    private <T extends Drawable> T copyOf(T drawable){
+        if (drawable == null){
+            return null;
+        }
+        Drawable.ConstantState state = drawable.getConstantState();
+        if (state == null){
+            return drawable;
+        }
+        return (T) state.newDrawable(context.getResources()).mutate();
+    }
+
+    // True if the decoration of a direction looks the same on every frame, apart from the revealed width.
+    private static boolean isStatic(GradientDrawable gradientDrawable, int backgroundMode, int backgroundShape,
+                                    Drawable animDrawable, int behaviour, int animation){
+        return (gradientDrawable == null || backgroundMode == BACKGROUND_MODE_FIXED)
+                && backgroundShape != BACKGROUND_SHAPE_ROUNDED
+                && animDrawable == null
+                && animation == NO_ANIMATION
+                && (behaviour == BEHAVIOUR_STATIC_START || behaviour == BEHAVIOUR_STATIC_CENTER);
+    }
+
+    private static BackgroundRenderer createBackgroundRenderer(GradientDrawable gradientDrawable, ColorDrawable colorDrawable,
+                                                               int backgroundMode, int backgroundShape, float cornerRadius){
+
+        boolean card = backgroundShape == BACKGROUND_SHAPE_CARD;
+        if (gradientDrawable != null){
+            if (backgroundShape == BACKGROUND_SHAPE_RECT){
+                if (backgroundMode == BACKGROUND_MODE_FIXED){
+                    return new BackgroundRenderer.Fixed(gradientDrawable);
+                }
+                return new BackgroundRenderer.Stretched(gradientDrawable);
+            }
+
+            // A gradient draws its own rounded corners, a clip is only needed when its bounds are not the outline.
+            if (backgroundMode == BACKGROUND_MODE_FIXED){
+                if (card){
+                    gradientDrawable.setCornerRadius(cornerRadius);
+                    return new BackgroundRenderer.Fixed(gradientDrawable);
+                }
+                return new BackgroundRenderer.Clipped(new BackgroundRenderer.Fixed(gradientDrawable), cornerRadius, false);
+            }
+            if (!card){
+                gradientDrawable.setCornerRadius(cornerRadius);
+                return new BackgroundRenderer.Stretched(gradientDrawable);
+            }
+            return new BackgroundRenderer.Clipped(new BackgroundRenderer.Stretched(gradientDrawable), cornerRadius, true);
+        }
+
+        if (colorDrawable != null){
+            if (backgroundShape != BACKGROUND_SHAPE_RECT){
+                return new BackgroundRenderer.RoundedColor(colorDrawable.getColor(), cornerRadius, card);
+            }
+            return new BackgroundRenderer.Stretched(colorDrawable);
+        }
+
+        return BackgroundRenderer.NONE;
+    }
+
+    private IconRenderer createIconRenderer(Drawable drawable, AnimatedVectorDrawableCompat animDrawable, @DrawableRes int animResource,
+                                            int animation, IconBehaviour behaviour, Integer maskColor){
+
+        if (animDrawable != null){
+            return new IconRenderer.Animated(animDrawable, behaviour, new IconDrawablePool(animDrawable, context, animResource));
+        }
+
+        if (drawable == null){
+            return IconRenderer.NONE;
+        }
+
+        if (iconMode == ICON_MODE_MASK){
+            int color = maskColor != null ? maskColor : IconRenderer.Mask.sampleColor(drawable);
+            switch (animation){
+                case ANIMATION_FADE:
+                    return new IconRenderer.MaskFade(drawable, behaviour, iconBitmapCache, color, fadeCurve);
+                case ANIMATION_ROTATE:
+                    return new IconRenderer.MaskRotate(drawable, behaviour, iconBitmapCache, color, rotationCurve);
+                case NO_ANIMATION:
+                default:
+                    return new IconRenderer.Mask(drawable, behaviour, iconBitmapCache, color);
+            }
+        }
+
+        switch (animation){
+            case ANIMATION_FADE:
+                return new IconRenderer.Fade(drawable, behaviour, new IconDrawablePool(drawable, context.getResources()), fadeCurve);
+            case ANIMATION_ROTATE:
+                if (rotationMode == ROTATION_MODE_CANVAS){
+                    return new IconRenderer.CanvasRotate(drawable, behaviour, iconBitmapCache, rotationCurve);
+                }
+                if (rotationMode == ROTATION_MODE_SPRITE){
+                    return new IconRenderer.SpriteRotate(drawable, behaviour, iconBitmapCache, rotationCurve,
+                            rotationSpriteFrames, rotationSpriteExecutor);
+                }
+                return new IconRenderer.Rotate(drawable, behaviour, iconBitmapCache, rotationCurve);
+            case NO_ANIMATION:
+            default:
+                return new IconRenderer.Static(drawable, behaviour);
+        }
+    }
+
+    // Labels follow the icon of their direction, and fade with it. Animated drawables ignore the
+    // animation of their direction, see createIconRenderer, so their label does not fade either.
+    private LabelRenderer createLabelRenderer(String label, Typeface typeface, float textSize, int color,
+                                              Drawable icon, boolean animatedIcon, int animation, IconBehaviour behaviour){
+
+        if (label == null || label.length() == 0){
+            return LabelRenderer.NONE;
+        }
+
+        int iconWidth = icon != null ? Math.max(0, icon.getIntrinsicWidth()) : 0;
+        int iconHeight = icon != null ? Math.max(0, icon.getIntrinsicHeight()) : 0;
+        return new LabelRenderer.Text(label, typeface, textSize, color, behaviour, iconWidth, iconHeight,
+                animation == ANIMATION_FADE && !animatedIcon ? fadeCurve : null);
     }
 
     public Context getContext() {
@@ -155,20 +579,103 @@ public class SwipeDecoration {
         return iconRightAnimation;
     }
 
+    /**
+     * Drawables returned by the getters below are copies, the ones drawn by the decoration
+     * are shared by every list it is applied to and can't be changed once it is built.
+     * @return copy of the icon of the left side, loading it if needed.
+     */
     public Drawable getIconLeftDrawable() {
-        return iconLeftDrawable;
+        if (!leftPrepared){
+            prepareLeft();
+        }
+        return copyOf(iconLeftDrawable);
     }
 
     public Drawable getIconRightDrawable() {
-        return iconRightDrawable;
+        if (!rightPrepared){
+            prepareRight();
+        }
+        return copyOf(iconRightDrawable);
     }
 
-    public AnimatedVectorDrawable getIconLeftAnimDrawable() {
-        return iconLeftAnimDrawable;
+    /**
+     * @return copy of the animated icon of the left side, null below API 21.
+     * @deprecated animated icons are drawn with {@link AnimatedVectorDrawableCompat} on every
+     * API level, use {@link #getIconLeftAnimDrawableCompat()}.
+     */
+    @Deprecated
+    public synchronized AnimatedVectorDrawable getIconLeftAnimDrawable() {
+        if (iconLeftPlatformAnimDrawable == null){
+            iconLeftPlatformAnimDrawable = getPlatformAnimatedVectorDrawable(context, iconLeftAnimResource);
+        }
+        return iconLeftPlatformAnimDrawable;
     }
 
-    public AnimatedVectorDrawable getIconRightAnimDrawable() {
-        return iconRightAnimDrawable;
+    /**
+     * @return copy of the animated icon of the right side, null below API 21.
+     * @deprecated animated icons are drawn with {@link AnimatedVectorDrawableCompat} on every
+     * API level, use {@link #getIconRightAnimDrawableCompat()}.
+     */
+    @Deprecated
+    public synchronized AnimatedVectorDrawable getIconRightAnimDrawable() {
+        if (iconRightPlatformAnimDrawable == null){
+            iconRightPlatformAnimDrawable = getPlatformAnimatedVectorDrawable(context, iconRightAnimResource);
+        }
+        return iconRightPlatformAnimDrawable;
+    }
+
+    /**
+     * @return copy of the animated icon of the left side, inflated once on the first call.
+     * It is not the drawable drawn by the decoration.
+     */
+    public synchronized AnimatedVectorDrawableCompat getIconLeftAnimDrawableCompat() {
+        if (iconLeftAnimDrawableCopy == null){
+            iconLeftAnimDrawableCopy = getAnimatedVectorDrawable(context, iconLeftAnimResource);
+        }
+        return iconLeftAnimDrawableCopy;
+    }
+
+    /**
+     * @return copy of the animated icon of the right side, inflated once on the first call.
+     * It is not the drawable drawn by the decoration.
+     */
+    public synchronized AnimatedVectorDrawableCompat getIconRightAnimDrawableCompat() {
+        if (iconRightAnimDrawableCopy == null){
+            iconRightAnimDrawableCopy = getAnimatedVectorDrawable(context, iconRightAnimResource);
+        }
+        return iconRightAnimDrawableCopy;
+    }
+
+    public String getLabelLeft() {
+        return labelLeft;
+    }
+
+    public String getLabelRight() {
+        return labelRight;
+    }
+
+    public int getRotationMode() {
+        return rotationMode;
+    }
+
+    public int getBackgroundMode() {
+        return backgroundMode;
+    }
+
+    public int getBackgroundShape() {
+        return backgroundShape;
+    }
+
+    public float getBackgroundCornerRadius() {
+        return backgroundCornerRadius;
+    }
+
+    public int getIconMode() {
+        return iconMode;
+    }
+
+    public boolean isAdaptiveQualityEnabled() {
+        return adaptiveQualityEnabled;
     }
 
     public Integer getBackgroundLeftColor() {
@@ -176,11 +683,11 @@ public class SwipeDecoration {
     }
 
     public ColorDrawable getBackgroundLeftColorDrawable() {
-        return backgroundLeftColorDrawable;
+        return copyOf(backgroundLeftColorDrawable);
     }
 
     public GradientDrawable getBackgroundLeftGradientDrawable() {
-        return backgroundLeftGradientDrawable;
+        return copyOf(backgroundLeftGradientDrawable);
     }
 
     public Integer getBackgroundRightColor() {
@@ -188,11 +695,31 @@ public class SwipeDecoration {
     }
 
     public ColorDrawable getBackgroundRightColorDrawable() {
-        return backgroundRightColorDrawable;
+        return copyOf(backgroundRightColorDrawable);
     }
 
     public GradientDrawable getBackgroundRightGradientDrawable() {
-        return backgroundRightGradientDrawable;
+        return copyOf(backgroundRightGradientDrawable);
+    }
+
+    /**
+     * Decides where an icon is drawn as the view is swiped.
+     * <p>
+     * The <code>BEHAVIOUR_*</code> constants are built-in implementations, a custom one can be
+     * set with {@link Builder#setIconLeftBehaviour(IconBehaviour)} or
+     * {@link Builder#setIconRightBehaviour(IconBehaviour)}. It is called on every frame of a
+     * swipe, so it should only do simple arithmetic.
+     */
+    public interface IconBehaviour {
+
+        /**
+         * @param direction {@link #DIRECTION_LEFT} or {@link #DIRECTION_RIGHT}.
+         * @param displacement how much has the view swiped, in pixels.
+         * @param viewWidth width of the view being swiped.
+         * @param iconWidth intrinsic width of the icon.
+         * @return left edge of the icon, relative to the left of the view.
+         */
+        int getIconLeft(int direction, int displacement, int viewWidth, int iconWidth);
     }
 
     public static class Builder{
@@ -205,11 +732,15 @@ public class SwipeDecoration {
         private Integer iconLeftAnimation;
         private Integer iconRightAnimation;
 
+        // Resources are loaded by the decoration, the first time their direction is swiped.
+        @DrawableRes private int iconLeftResource;
+        @DrawableRes private int iconRightResource;
+
         private Drawable iconLeftDrawable;
         private Drawable iconRightDrawable;
 
-        private AnimatedVectorDrawable iconLeftAnimDrawable;
-        private AnimatedVectorDrawable iconRightAnimDrawable;
+        @DrawableRes private int iconLeftAnimResource;
+        @DrawableRes private int iconRightAnimResource;
 
         private Integer backgroundLeftColor;
         private ColorDrawable backgroundLeftColorDrawable;
@@ -219,6 +750,41 @@ public class SwipeDecoration {
         private ColorDrawable backgroundRightColorDrawable;
         private GradientDrawable backgroundRightGradientDrawable;
 
+        private IconBehaviour iconLeftCustomBehaviour;
+        private IconBehaviour iconRightCustomBehaviour;
+
+        private int rotationMode;
+        private int rotationSpriteFrames;
+        private Executor rotationSpriteExecutor;
+        private int backgroundMode;
+        private int backgroundShape;
+        private float backgroundCornerRadius;
+        private int iconMode;
+        private Integer iconLeftMaskColor;
+        private Integer iconRightMaskColor;
+
+        private CharSequence labelLeft;
+        private CharSequence labelRight;
+        private Typeface labelLeftTypeface;
+        private Typeface labelRightTypeface;
+        private int labelLeftTextSizeUnit = TypedValue.COMPLEX_UNIT_SP;
+        private int labelRightTextSizeUnit = TypedValue.COMPLEX_UNIT_SP;
+        private float labelLeftTextSize = DEFAULT_LABEL_TEXT_SIZE;
+        private float labelRightTextSize = DEFAULT_LABEL_TEXT_SIZE;
+        private int labelLeftColor = Color.WHITE;
+        private int labelRightColor = Color.WHITE;
+
+        private TimeInterpolator fadeInterpolator;
+        private TimeInterpolator rotationInterpolator;
+        private TimeInterpolator dynamicInterpolator;
+
+        private DecorationMetricsListener metricsListener;
+        private boolean tracingEnabled;
+
+        private boolean adaptiveQualityEnabled;
+        private long adaptiveDrawBudgetNanos = ADAPTIVE_DEFAULT_DRAW_BUDGET_NANOS;
+        private float adaptiveMaxVelocity = ADAPTIVE_DEFAULT_MAX_VELOCITY;
+
 
         public Builder(Context context){
             this.context = context;
@@ -228,18 +794,33 @@ public class SwipeDecoration {
             this.iconRightAnimation = null;
             this.iconLeftDrawable = null;
             this.iconRightDrawable = null;
-            this.iconLeftAnimDrawable = null;
-            this.iconRightAnimDrawable = null;
             this.backgroundLeftGradientDrawable = null;
             this.backgroundLeftColorDrawable = null;
             this.backgroundLeftColor = null;
             this.backgroundRightGradientDrawable = null;
             this.backgroundRightColorDrawable = null;
             this.backgroundRightColor = null;
+            this.rotationMode = ROTATION_MODE_BITMAP;
+            this.rotationSpriteFrames = DEFAULT_ROTATION_SPRITE_FRAMES;
+            this.backgroundMode = BACKGROUND_MODE_STRETCH;
+            this.backgroundShape = BACKGROUND_SHAPE_RECT;
+            this.iconMode = ICON_MODE_DRAWABLE;
         }
 
         public Builder setIconLeftBehaviour(int iconLeftBehaviour){
             this.iconLeftBehaviour = iconLeftBehaviour;
+            this.iconLeftCustomBehaviour = null;
+            return this;
+        }
+
+        /**
+         * Positions the left icon with a custom behaviour instead of a <code>BEHAVIOUR_*</code> constant.
+         * @param iconLeftBehaviour used to position the icon on every frame.
+         * @return this Builder
+         */
+        public Builder setIconLeftBehaviour(@NonNull IconBehaviour iconLeftBehaviour){
+            this.iconLeftBehaviour = BEHAVIOUR_CUSTOM;
+            this.iconLeftCustomBehaviour = iconLeftBehaviour;
             return this;
         }
 
@@ -249,24 +830,36 @@ public class SwipeDecoration {
         }
 
         public Builder setIconLeftResource(@DrawableRes int iconLeftResource){
-            this.iconLeftDrawable = ActivityCompat.getDrawable(context, iconLeftResource);
+            this.iconLeftResource = iconLeftResource;
+            this.iconLeftDrawable = null;
             return this;
         }
 
         public Builder setIconLeftDrawable(Drawable iconLeftDrawable){
             this.iconLeftDrawable = iconLeftDrawable;
+            this.iconLeftResource = 0;
             return this;
         }
 
         public Builder setIconLeftAnimDrawable(@DrawableRes int iconLeftAnimDrawable){
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-                this.iconLeftAnimDrawable = (AnimatedVectorDrawable) ActivityCompat.getDrawable(context, iconLeftAnimDrawable);
-            }
+            this.iconLeftAnimResource = iconLeftAnimDrawable;
             return this;
         }
 
         public Builder setIconRightBehaviour(int iconRightBehaviour){
             this.iconRightBehaviour = iconRightBehaviour;
+            this.iconRightCustomBehaviour = null;
+            return this;
+        }
+
+        /**
+         * Positions the right icon with a custom behaviour instead of a <code>BEHAVIOUR_*</code> constant.
+         * @param iconRightBehaviour used to position the icon on every frame.
+         * @return this Builder
+         */
+        public Builder setIconRightBehaviour(@NonNull IconBehaviour iconRightBehaviour){
+            this.iconRightBehaviour = BEHAVIOUR_CUSTOM;
+            this.iconRightCustomBehaviour = iconRightBehaviour;
             return this;
         }
 
@@ -276,19 +869,19 @@ public class SwipeDecoration {
         }
 
         public Builder setIconRightResource(@DrawableRes int iconRightResource){
-            this.iconRightDrawable = ActivityCompat.getDrawable(context, iconRightResource);
+            this.iconRightResource = iconRightResource;
+            this.iconRightDrawable = null;
             return this;
         }
 
         public Builder setIconRightDrawable(Drawable iconRightDrawable){
             this.iconRightDrawable = iconRightDrawable;
+            this.iconRightResource = 0;
             return this;
         }
 
         public Builder setIconRightAnimDrawable(@DrawableRes int iconRightAnimDrawable){
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP){
-                this.iconRightAnimDrawable = (AnimatedVectorDrawable) ActivityCompat.getDrawable(context, iconRightAnimDrawable);
-            }
+            this.iconRightAnimResource = iconRightAnimDrawable;
             return this;
         }
 
@@ -323,326 +916,739 @@ public class SwipeDecoration {
         }
 
         /**
-         * @return new Swipe Decoration Object
+         * Sets how icons with {@link #ANIMATION_ROTATE} are rotated.
+         * @param rotationMode {@link #ROTATION_MODE_BITMAP} (Default), {@link #ROTATION_MODE_CANVAS}
+         *                     or {@link #ROTATION_MODE_SPRITE}.
+         * @return this Builder
          */
-        public SwipeDecoration build(){
-            return new SwipeDecoration(this);
+        public Builder setRotationMode(int rotationMode){
+            this.rotationMode = rotationMode;
+            return this;
         }
-    }
 
-    /**
-     * This method apply decorations to view when swiped.
-     * <p>
-     * Must be used inside of <code>OnChildDraw</code> of {@link ItemTouchHelper} callback.
-     * @param c canvas on which decorations are applied.
-     * @param viewHolder used to get the view being swiped.
-     * @param dX horizontal displacement, how much has the view swiped.
-     */
-    public void applyDecoration(@NonNull Canvas c, @NonNull RecyclerView.ViewHolder viewHolder, @NonNull Float dX){
+        /**
+         * Sets the sprite sheets of {@link #ROTATION_MODE_SPRITE}.
+         * <p>
+         * Sprites are rendered on the executor when a direction is first swiped, icons are
+         * rotated with a matrix until then. With {@link #buildAsync(Executor, OnBuildListener)}
+         * they are rendered before the decoration is handed back.
+         * @param frameCount angle steps of a full turn, {@link #DEFAULT_ROTATION_SPRITE_FRAMES} by default.
+         * @param executor renders the sprites, <code>AsyncTask.THREAD_POOL_EXECUTOR</code> if null.
+         * @return this Builder
+         */
+        public Builder setRotationSprite(int frameCount, Executor executor){
+            this.rotationSpriteFrames = Math.max(1, frameCount);
+            this.rotationSpriteExecutor = executor;
+            return this;
+        }
 
-        View view = viewHolder.itemView;
-        int direction = dX.intValue() > 0 ? DIRECTION_RIGHT : DIRECTION_LEFT;
-        float rotationAngle;
-        float pivotX;
-        float pivotY;
-        float alpha;
-        int angleConstraint;
-        int absoluteDisplacement = Math.abs(dX.intValue());
-        int viewLeft = view.getLeft();
-        int viewTop = view.getTop();
-        int viewRight = view.getRight();
-        int viewBottom = view.getBottom();
-        int viewWidth = view.getWidth();
-        int viewHeight = view.getHeight();
-        int marginStartForIconLeft;
-        int marginEndForIconRight;
-        int marginTop;
-        int iconWidth;
-        int iconHeight;
-
-        switch (direction){
-            case DIRECTION_RIGHT:
-
-                Rect backgroundView = new Rect(viewLeft, viewTop, viewLeft + absoluteDisplacement, viewBottom);
-                if (backgroundLeftGradientDrawable != null){
-
-                    backgroundLeftGradientDrawable.setBounds(backgroundView);
-                    backgroundLeftGradientDrawable.draw(c);
-
-                }else if(backgroundLeftColorDrawable != null){
-
-                    backgroundLeftColorDrawable.setBounds(backgroundView);
-                    backgroundLeftColorDrawable.draw(c);
-                }else if (backgroundLeftColor != null){
-
-                    backgroundLeftColorDrawable = new ColorDrawable();
-                    backgroundLeftColorDrawable.setColor(backgroundLeftColor);
-                    backgroundLeftColorDrawable.setBounds(backgroundView);
-                    backgroundLeftColorDrawable.draw(c);
-                }
+        /**
+         * Sets how gradient backgrounds are laid out, color backgrounds look the same in both modes.
+         * @param backgroundMode {@link #BACKGROUND_MODE_STRETCH} (Default) or {@link #BACKGROUND_MODE_FIXED}.
+         * @return this Builder
+         */
+        public Builder setBackgroundMode(int backgroundMode){
+            this.backgroundMode = backgroundMode;
+            return this;
+        }
 
-                if (iconLeftAnimDrawable != null){
+        /**
+         * Rounds the corners of the backgrounds of both directions.
+         * <p>
+         * Color backgrounds, and gradients whose bounds are the rounded outline, are drawn as
+         * rounded rectangles and cost about the same as square ones. A stretched gradient with
+         * {@link #BACKGROUND_SHAPE_CARD}, or a fixed one with {@link #BACKGROUND_SHAPE_ROUNDED},
+         * is clipped to a path instead.
+         * @param backgroundShape {@link #BACKGROUND_SHAPE_RECT} (Default), {@link #BACKGROUND_SHAPE_ROUNDED}
+         *                        or {@link #BACKGROUND_SHAPE_CARD}.
+         * @param cornerRadius radius of the corners in pixels, e.g. the corner radius of the cards.
+         * @return this Builder
+         */
+        public Builder setBackgroundShape(int backgroundShape, float cornerRadius){
+            this.backgroundShape = backgroundShape;
+            this.backgroundCornerRadius = cornerRadius;
+            return this;
+        }
 
-                    iconWidth = iconLeftAnimDrawable.getIntrinsicWidth();
-                    iconHeight = iconLeftAnimDrawable.getIntrinsicHeight();
+        /**
+         * Sets how icons are drawn. With {@link #ICON_MODE_MASK}, icons are rasterized to
+         * {@link Bitmap.Config#ALPHA_8} masks and drawn with a single color, faded with its alpha
+         * and rotated as bitmaps whatever the rotation mode. Only use it for monochrome icons,
+         * animated drawables are always drawn as they are.
+         * @param iconMode {@link #ICON_MODE_DRAWABLE} (Default) or {@link #ICON_MODE_MASK}.
+         * @return this Builder
+         */
+        public Builder setIconMode(int iconMode){
+            this.iconMode = iconMode;
+            return this;
+        }
 
-                    marginStartForIconLeft = (viewWidth - iconWidth) / 2;
-                    marginTop = ((viewHeight - iconHeight) / 2) + viewTop;
+        /**
+         * @param iconLeftMaskColor color of the left icon with {@link #ICON_MODE_MASK},
+         *                          the most opaque color of the icon by default.
+         * @return this Builder
+         */
+        public Builder setIconLeftMaskColor(Integer iconLeftMaskColor){
+            this.iconLeftMaskColor = iconLeftMaskColor;
+            return this;
+        }
 
-                    if (iconLeftBehaviour == null){
-                        iconLeftBehaviour = BEHAVIOUR_STATIC_START;
-                    }
+        /**
+         * @param iconRightMaskColor color of the right icon with {@link #ICON_MODE_MASK},
+         *                           the most opaque color of the icon by default.
+         * @return this Builder
+         */
+        public Builder setIconRightMaskColor(Integer iconRightMaskColor){
+            this.iconRightMaskColor = iconRightMaskColor;
+            return this;
+        }
 
-                    switch (iconLeftBehaviour){
-                        case BEHAVIOUR_STATIC_END:
-                            iconLeftAnimDrawable.setBounds((absoluteDisplacement - iconWidth) - MARGIN, marginTop, absoluteDisplacement - MARGIN, marginTop + iconHeight);
-                            iconLeftAnimDrawable.draw(c);
-                            break;
-                        case BEHAVIOUR_STATIC_CENTER:
-                            iconLeftAnimDrawable.setBounds(marginStartForIconLeft, marginTop, marginStartForIconLeft + iconWidth, marginTop + iconHeight);
-                            iconLeftAnimDrawable.draw(c);
-                            break;
-                        case BEHAVIOUR_DYNAMIC:
-                            marginStartForIconLeft = Math.min(absoluteDisplacement, (marginStartForIconLeft + iconWidth) + MARGIN);
-                            iconLeftAnimDrawable.setBounds((marginStartForIconLeft - iconWidth) - MARGIN, marginTop, marginStartForIconLeft - MARGIN, marginTop + iconHeight);
-                            iconLeftAnimDrawable.draw(c);
-                            break;
-                        case BEHAVIOUR_STATIC_START:
-                        default:
-                            iconLeftAnimDrawable.setBounds(MARGIN, marginTop, iconWidth + MARGIN, marginTop + iconHeight);
-                            iconLeftAnimDrawable.draw(c);
-                            break;
-                    }
-                    iconLeftAnimDrawable.start();
-                    return;
-                }
+        /**
+         * Draws a label beneath the left icon, e.g. "Archive".
+         * <p>
+         * The label is positioned with the icon, fades with it when the icon has
+         * {@link #ANIMATION_FADE}, and is wrapped on two lines at most. It is laid out once for
+         * every item width, not on every frame. Styled text is drawn as plain text.
+         * @param labelLeft text of the label, null for none.
+         * @return this Builder
+         */
+        public Builder setLabelLeft(CharSequence labelLeft){
+            this.labelLeft = labelLeft;
+            return this;
+        }
 
+        /**
+         * Draws a label beneath the right icon, see {@link #setLabelLeft(CharSequence)}.
+         * @param labelRight text of the label, null for none.
+         * @return this Builder
+         */
+        public Builder setLabelRight(CharSequence labelRight){
+            this.labelRight = labelRight;
+            return this;
+        }
 
-                if (iconLeftDrawable != null){
+        /**
+         * @param labelLeftTypeface typeface of the left label, the default typeface if null.
+         * @return this Builder
+         */
+        public Builder setLabelLeftTypeface(Typeface labelLeftTypeface){
+            this.labelLeftTypeface = labelLeftTypeface;
+            return this;
+        }
 
-                    iconWidth = iconLeftDrawable.getIntrinsicWidth();
-                    iconHeight = iconLeftDrawable.getIntrinsicHeight();
+        /**
+         * @param labelRightTypeface typeface of the right label, the default typeface if null.
+         * @return this Builder
+         */
+        public Builder setLabelRightTypeface(Typeface labelRightTypeface){
+            this.labelRightTypeface = labelRightTypeface;
+            return this;
+        }
 
-                    marginStartForIconLeft = (viewWidth - iconWidth) / 2;
-                    marginTop = ((viewHeight - iconHeight) / 2) + viewTop;
+        /**
+         * @param unit of the size, e.g. {@link TypedValue#COMPLEX_UNIT_SP}.
+         * @param labelLeftTextSize text size of the left label, {@link #DEFAULT_LABEL_TEXT_SIZE} sp by default.
+         * @return this Builder
+         */
+        public Builder setLabelLeftTextSize(int unit, float labelLeftTextSize){
+            this.labelLeftTextSizeUnit = unit;
+            this.labelLeftTextSize = labelLeftTextSize;
+            return this;
+        }
 
-                    if (iconLeftBehaviour == null){
-                        iconLeftBehaviour = BEHAVIOUR_STATIC_START;
-                    }
+        /**
+         * @param unit of the size, e.g. {@link TypedValue#COMPLEX_UNIT_SP}.
+         * @param labelRightTextSize text size of the right label, {@link #DEFAULT_LABEL_TEXT_SIZE} sp by default.
+         * @return this Builder
+         */
+        public Builder setLabelRightTextSize(int unit, float labelRightTextSize){
+            this.labelRightTextSizeUnit = unit;
+            this.labelRightTextSize = labelRightTextSize;
+            return this;
+        }
+
+        /**
+         * @param labelLeftColor text color of the left label, white by default.
+         * @return this Builder
+         */
+        public Builder setLabelLeftColor(int labelLeftColor){
+            this.labelLeftColor = labelLeftColor;
+            return this;
+        }
+
+        /**
+         * @param labelRightColor text color of the right label, white by default.
+         * @return this Builder
+         */
+        public Builder setLabelRightColor(int labelRightColor){
+            this.labelRightColor = labelRightColor;
+            return this;
+        }
 
-                    if (iconLeftAnimation == null){
-                        iconLeftAnimation = NO_ANIMATION;
+        /**
+         * Eases the fade of icons with {@link #ANIMATION_FADE}, linear by default.
+         * <p>
+         * The interpolator is sampled once when the decoration is built.
+         * @param fadeInterpolator maps the swipe progress to the icon opacity.
+         * @return this Builder
+         */
+        public Builder setFadeInterpolator(TimeInterpolator fadeInterpolator){
+            this.fadeInterpolator = fadeInterpolator;
+            return this;
+        }
+
+        /**
+         * Eases the rotation of icons with {@link #ANIMATION_ROTATE}, linear by default.
+         * <p>
+         * The interpolator is sampled once when the decoration is built.
+         * @param rotationInterpolator maps the swipe progress to the icon rotation.
+         * @return this Builder
+         */
+        public Builder setRotationInterpolator(TimeInterpolator rotationInterpolator){
+            this.rotationInterpolator = rotationInterpolator;
+            return this;
+        }
+
+        /**
+         * Eases the movement of icons with {@link #BEHAVIOUR_DYNAMIC}, linear by default.
+         * <p>
+         * The interpolator is sampled once when the decoration is built.
+         * @param dynamicInterpolator maps the swipe progress to the icon position.
+         * @return this Builder
+         */
+        public Builder setDynamicInterpolator(TimeInterpolator dynamicInterpolator){
+            this.dynamicInterpolator = dynamicInterpolator;
+            return this;
+        }
+
+        /**
+         * Reports the cost of every frame, used to find out whether the decoration causes jank.
+         * @param metricsListener called after each frame, null to disable.
+         * @return this Builder
+         */
+        public Builder setMetricsListener(DecorationMetricsListener metricsListener){
+            this.metricsListener = metricsListener;
+            return this;
+        }
+
+        /**
+         * Wraps the drawing of every frame in {@link TraceCompat} sections, so it shows up
+         * in systrace and Perfetto captures.
+         * @param tracingEnabled true to emit trace sections, disabled by default.
+         * @return this Builder
+         */
+        public Builder setTracingEnabled(boolean tracingEnabled){
+            this.tracingEnabled = tracingEnabled;
+            return this;
+        }
+
+        /**
+         * Draws icons the cheap way while the decoration is too slow or the view is swiped
+         * fast, i.e. faded and rotating icons are drawn as static icons without alpha.
+         * Full quality is restored once frames are cheap and the swipe slows down again.
+         * @param adaptiveQualityEnabled true to adapt quality, disabled by default.
+         * @return this Builder
+         */
+        public Builder setAdaptiveQualityEnabled(boolean adaptiveQualityEnabled){
+            this.adaptiveQualityEnabled = adaptiveQualityEnabled;
+            return this;
+        }
+
+        /**
+         * Sets when adaptive quality degrades the decoration, see {@link #setAdaptiveQualityEnabled(boolean)}.
+         * @param drawBudgetNanos average time the decoration may take to draw all the items
+         *                        of a frame, {@link #ADAPTIVE_DEFAULT_DRAW_BUDGET_NANOS} by default.
+         * @param maxVelocity swipe velocity in dp per second, {@link #ADAPTIVE_DEFAULT_MAX_VELOCITY} by default.
+         * @return this Builder
+         */
+        public Builder setAdaptiveQualityThresholds(long drawBudgetNanos, float maxVelocity){
+            this.adaptiveDrawBudgetNanos = drawBudgetNanos;
+            this.adaptiveMaxVelocity = maxVelocity;
+            return this;
+        }
+
+        /**
+         * Icons set with a resource are not loaded here, but the first time a view is swiped
+         * in their direction. Use {@link #buildAsync(Executor, OnBuildListener)} to load them
+         * in advance, off the main thread.
+         * @return new Swipe Decoration Object
+         */
+        public SwipeDecoration build(){
+            return new SwipeDecoration(this);
+        }
+
+        /**
+         * Builds the decoration on a background thread, so that neither the caller nor the
+         * first swipe has to load the icons.
+         * <p>
+         * Drawables are inflated and icons with {@link #ANIMATION_ROTATE} are rasterized on the
+         * executor, the listener is then called on the main thread. The Builder must not be
+         * changed until the listener is called.
+         * <p>
+         * If building fails, the listener is not called. The exception or error, e.g. an
+         * <code>OutOfMemoryError</code> while rasterizing icons, is thrown on the main thread instead,
+         * where {@link #build()} would have thrown it.
+         * @param executor used to build the decoration, e.g. <code>AsyncTask.THREAD_POOL_EXECUTOR</code>.
+         * @param listener called on the main thread with the new decoration.
+         */
+        public void buildAsync(@NonNull Executor executor, @NonNull final OnBuildListener listener){
+
+            final Handler mainHandler = new Handler(Looper.getMainLooper());
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    final SwipeDecoration decoration;
+                    try {
+                        decoration = build();
+                        decoration.prewarm();
+                    } catch (final Throwable t) {
+                        // Fail where a synchronous build() would have failed, errors included,
+                        // or the listener would wait forever.
+                        mainHandler.post(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (t instanceof RuntimeException){
+                                    throw (RuntimeException) t;
+                                }
+                                if (t instanceof Error){
+                                    throw (Error) t;
+                                }
+                                throw new RuntimeException(t);
+                            }
+                        });
+                        return;
                     }
 
-                    if (iconLeftAnimation == ANIMATION_ROTATE){
-
-                        angleConstraint = (viewWidth / 2);
-                        angleConstraint = Math.min(absoluteDisplacement, angleConstraint);
-                        pivotX = (iconWidth / 2.0f);
-                        pivotY = (iconHeight / 2.0f);
-                        rotationAngle = ((angleConstraint / (viewWidth / 2.0f)) * 360);
-
-                        Bitmap bitmapForStart = drawableToBitmap(iconLeftDrawable);
-                        rotationMatrix.setRotate(rotationAngle, pivotX, pivotY);
-
-                        switch (iconLeftBehaviour){
-                            case BEHAVIOUR_STATIC_START:
-                                rotationMatrix.postTranslate(MARGIN, marginTop);
-                                break;
-                            case BEHAVIOUR_STATIC_END:
-                                rotationMatrix.postTranslate((absoluteDisplacement - iconWidth) - MARGIN, marginTop);
-                                break;
-                            case BEHAVIOUR_STATIC_CENTER:
-                                rotationMatrix.postTranslate(marginStartForIconLeft, marginTop);
-                                break;
-                            case BEHAVIOUR_DYNAMIC:
-                                marginStartForIconLeft = Math.min(absoluteDisplacement, (marginStartForIconLeft + iconWidth) + MARGIN);
-                                rotationMatrix.postTranslate((marginStartForIconLeft - iconWidth) - MARGIN, marginTop);
-                                break;
+                    mainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            listener.onBuild(decoration);
                         }
-                        c.drawBitmap(bitmapForStart, rotationMatrix, null);
-                    }else{
+                    });
+                }
+            });
+        }
+    }
 
-                        if (iconLeftAnimation == ANIMATION_FADE){
+    /**
+     * Receives a decoration built by {@link Builder#buildAsync(Executor, OnBuildListener)}.
+     */
+    public interface OnBuildListener {
 
-                            alpha = ((absoluteDisplacement / ((viewWidth + iconWidth) / 2.0f)) * 255);
-                            iconLeftDrawable.setAlpha((int)alpha);
-                        }
+        /**
+         * Called on the main thread once the decoration is ready to be drawn.
+         * @param decoration the new decoration.
+         */
+        void onBuild(@NonNull SwipeDecoration decoration);
+    }
 
-                        switch (iconLeftBehaviour){
-                            case BEHAVIOUR_STATIC_START:
+    /**
+     * State kept for one RecyclerView drawing a decoration, created by {@link #newRenderState()}.
+     * <p>
+     * Holds the scratch frame, the display lists replayed on API 29+ and the adaptive quality
+     * of the list. Display lists are only created by the first swipe of their direction, so a
+     * render state costs next to nothing for lists that are never swiped. Render states are
+     * used on the main thread, like the RecyclerView they belong to.
+     */
+    public static final class RenderState {
 
-                                iconLeftDrawable.setBounds(MARGIN, marginTop, iconWidth + MARGIN, marginTop + iconHeight);
-                                iconLeftDrawable.draw(c);
+        // Reused on every frame, so drawing does not allocate.
+        private final SwipeFrame frame;
 
-                                break;
-                            case BEHAVIOUR_STATIC_END:
+        // Null unless adaptive quality is enabled on the Builder.
+        private final AdaptiveQuality adaptiveQuality;
 
-                                iconLeftDrawable.setBounds((absoluteDisplacement - iconWidth) - MARGIN, marginTop, absoluteDisplacement - MARGIN, marginTop + iconHeight);
-                                iconLeftDrawable.draw(c);
+        private RecordedDecoration leftRecordedDecoration;
+        private RecordedDecoration rightRecordedDecoration;
 
-                                break;
-                            case BEHAVIOUR_STATIC_CENTER:
+        // Drawn since their swipe began, their state is kept on memory trims. Weak, and dropped once
+        // back at rest, since callers only drawing in OnChildDraw never clear their items.
+        private final Set<RecyclerView.ViewHolder> swipedViewHolders;
 
-                                iconLeftDrawable.setBounds(marginStartForIconLeft, marginTop, marginStartForIconLeft + iconWidth, marginTop + iconHeight);
-                                iconLeftDrawable.draw(c);
+        private RenderState(AdaptiveQuality adaptiveQuality){
+            this.frame = new SwipeFrame();
+            this.adaptiveQuality = adaptiveQuality;
+            this.swipedViewHolders = Collections.newSetFromMap(new WeakHashMap<RecyclerView.ViewHolder, Boolean>());
+        }
 
-                                break;
-                            case BEHAVIOUR_DYNAMIC:
+        private void onSwiped(RecyclerView.ViewHolder viewHolder){
+            if (!swipedViewHolders.contains(viewHolder)){
+                swipedViewHolders.add(viewHolder);
+            }
+        }
 
-                                marginStartForIconLeft = Math.min(absoluteDisplacement, (marginStartForIconLeft + iconWidth) + MARGIN);
-                                iconLeftDrawable.setBounds((marginStartForIconLeft - iconWidth) - MARGIN, marginTop, marginStartForIconLeft - MARGIN, marginTop + iconHeight);
-                                iconLeftDrawable.draw(c);
+        private void release(RecyclerView.ViewHolder viewHolder){
+            swipedViewHolders.remove(viewHolder);
+        }
 
-                                break;
-                        }
-                    }
+        /**
+         * @return true if an item of the list is still displaced. Items whose swipe ended without
+         * being cleared, i.e. no longer translated by {@link ItemTouchHelper}, are dropped.
+         */
+        boolean isSwiping(){
+            Iterator<RecyclerView.ViewHolder> iterator = swipedViewHolders.iterator();
+            while (iterator.hasNext()){
+                if ((int) iterator.next().itemView.getTranslationX() == 0){
+                    iterator.remove();
                 }
+            }
+            return !swipedViewHolders.isEmpty();
+        }
 
-                break;
-            case DIRECTION_LEFT:
+        @RequiresApi(Build.VERSION_CODES.Q)
+        private RecordedDecoration getLeftRecordedDecoration(BackgroundRenderer backgroundRenderer, IconRenderer iconRenderer,
+                                                             LabelRenderer labelRenderer){
+            if (leftRecordedDecoration == null){
+                leftRecordedDecoration = new RecordedDecoration(backgroundRenderer, iconRenderer, labelRenderer);
+            }
+            return leftRecordedDecoration;
+        }
 
-                backgroundView = new Rect(viewRight - absoluteDisplacement, viewTop, viewRight, viewBottom);
-                if (backgroundRightGradientDrawable != null){
+        @RequiresApi(Build.VERSION_CODES.Q)
+        private RecordedDecoration getRightRecordedDecoration(BackgroundRenderer backgroundRenderer, IconRenderer iconRenderer,
+                                                              LabelRenderer labelRenderer){
+            if (rightRecordedDecoration == null){
+                rightRecordedDecoration = new RecordedDecoration(backgroundRenderer, iconRenderer, labelRenderer);
+            }
+            return rightRecordedDecoration;
+        }
 
-                    backgroundRightGradientDrawable.setBounds(backgroundView);
-                    backgroundRightGradientDrawable.draw(c);
+        // Drops the display lists, they are recorded again on the next frame.
+        private void clear(){
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q){
+                if (leftRecordedDecoration != null){
+                    leftRecordedDecoration.clear();
+                }
+                if (rightRecordedDecoration != null){
+                    rightRecordedDecoration.clear();
+                }
+            }
+        }
+    }
 
-                }else if(backgroundRightColorDrawable != null){
+    /**
+     * Boxed variant of {@link #applyDecoration(Canvas, RecyclerView.ViewHolder, float)}.
+     * @param c canvas on which decorations are applied.
+     * @param viewHolder used to get the view being swiped.
+     * @param dX horizontal displacement, how much has the view swiped.
+     */
+    public void applyDecoration(@NonNull Canvas c, @NonNull RecyclerView.ViewHolder viewHolder, @NonNull Float dX){
+        applyDecoration(c, viewHolder, dX.floatValue());
+    }
 
-                    backgroundRightColorDrawable.setBounds(backgroundView);
-                    backgroundRightColorDrawable.draw(c);
-                }else if (backgroundRightColor != null){
+    /**
+     * This method apply decorations to view when swiped.
+     * <p>
+     * Must be used inside of <code>OnChildDraw</code> of {@link ItemTouchHelper} callback.
+     * Once the icons are loaded, this method does not allocate any objects. Drawing is
+     * clipped to the revealed area, and skipped when the view is not displaced.
+     * @param c canvas on which decorations are applied.
+     * @param viewHolder used to get the view being swiped.
+     * @param dX horizontal displacement, how much has the view swiped.
+     */
+    public void applyDecoration(@NonNull Canvas c, @NonNull RecyclerView.ViewHolder viewHolder, float dX){
+        draw(c, viewHolder, dX, getDensityDpi(), defaultRenderState);
+    }
 
-                    backgroundRightColorDrawable = new ColorDrawable();
-                    backgroundRightColorDrawable.setColor(backgroundRightColor);
-                    backgroundRightColorDrawable.setBounds(backgroundView);
-                    backgroundRightColorDrawable.draw(c);
-                }
+    /**
+     * Same as {@link #applyDecoration(Canvas, RecyclerView.ViewHolder, float)}, for a decoration
+     * shared by several RecyclerViews.
+     * @param c canvas on which decorations are applied.
+     * @param viewHolder used to get the view being swiped.
+     * @param dX horizontal displacement, how much has the view swiped.
+     * @param renderState of the RecyclerView of the view holder, see {@link #newRenderState()}.
+     */
+    public void applyDecoration(@NonNull Canvas c, @NonNull RecyclerView.ViewHolder viewHolder, float dX, @NonNull RenderState renderState){
+        draw(c, viewHolder, dX, getDensityDpi(), renderState);
+    }
 
-                if (iconRightAnimDrawable != null){
+    /**
+     * Creates the state kept for one RecyclerView while drawing this decoration.
+     * <p>
+     * The options of a decoration can't change once built, its drawables, renderers and caches
+     * are shared by every list it is applied to. What a list keeps from frame to frame is kept in
+     * a render state instead, so one decoration can be used by many lists, e.g. the pages of a
+     * ViewPager, with one render state each, all drawn on the main thread.
+     * {@link SwipeDecorCallback} and {@link SwipeItemDecoration} create their own.
+     * @return new render state, to pass to {@link #applyDecoration(Canvas, RecyclerView.ViewHolder, float, RenderState)}
+     * and {@link #clearView(RecyclerView.ViewHolder, RenderState)}.
+     */
+    @NonNull
+    public RenderState newRenderState(){
+        RenderState renderState = new RenderState(adaptiveQualityEnabled
+                ? new AdaptiveQuality(adaptiveDrawBudgetNanos, adaptiveMaxVelocity) : null);
+        synchronized (renderStates){
+            renderStates.add(renderState);
+        }
+        return renderState;
+    }
 
-                    iconWidth = iconRightAnimDrawable.getIntrinsicWidth();
-                    iconHeight = iconRightAnimDrawable.getIntrinsicHeight();
+    /**
+     * Applies decorations to the view holders swiped or recovering from a swipe, in a single
+     * pass, and releases the ones that are back in place. Used by {@link SwipeItemDecoration}.
+     * @param c canvas on which decorations are applied.
+     * @param parent of the view holders.
+     * @param viewHolders swiped or recovering, released ones are removed from the list.
+     * @param selected view holder swiped by the user, kept even while it is not displaced.
+     * @param renderState of the parent.
+     */
+    void applyDecorations(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull List<RecyclerView.ViewHolder> viewHolders,
+                          RecyclerView.ViewHolder selected, @NonNull RenderState renderState){
+
+        int densityDpi = getDensityDpi();
+        for (int i = 0; i < viewHolders.size(); ){
+            RecyclerView.ViewHolder viewHolder = viewHolders.get(i);
+            View view = viewHolder.itemView;
+            float dX = view.getTranslationX();
+
+            // Recovered, or removed from the list after the swipe.
+            if (view.getParent() != parent || ((int) dX == 0 && viewHolder != selected)){
+                viewHolders.remove(i);
+                clearView(viewHolder, renderState);
+                continue;
+            }
 
-                    marginEndForIconRight = (viewWidth - iconWidth) / 2;
-                    marginTop = ((viewHeight - iconHeight) / 2) + viewTop;
+            draw(c, viewHolder, dX, densityDpi, renderState);
+            i++;
+        }
+    }
 
-                    if (iconRightBehaviour == null){
-                        iconRightBehaviour = BEHAVIOUR_STATIC_START;
-                    }
+    /**
+     * Used by {@link SwipeDecorCallback} to know if a recorded frame can be replayed while
+     * the displacement of a view does not change.
+     * @param direction {@link #DIRECTION_LEFT} or {@link #DIRECTION_RIGHT}.
+     * @return false if the direction has an animated icon, or frames are instrumented.
+     */
+    boolean isReplayable(int direction){
+        if (instrumented){
+            return false;
+        }
+        if (direction == DIRECTION_RIGHT){
+            return iconLeftAnimResource == 0;
+        }
+        return iconRightAnimResource == 0;
+    }
 
-                    switch (iconRightBehaviour){
-                        case BEHAVIOUR_STATIC_END:
-                            iconRightAnimDrawable.setBounds((viewWidth - absoluteDisplacement) + MARGIN, marginTop, (viewWidth + iconWidth + MARGIN) - absoluteDisplacement, marginTop + iconHeight);
-                            iconRightAnimDrawable.draw(c);
-                            break;
-                        case BEHAVIOUR_STATIC_CENTER:
-                            iconRightAnimDrawable.setBounds(marginEndForIconRight, marginTop, marginEndForIconRight + iconWidth, marginTop + iconHeight);
-                            iconRightAnimDrawable.draw(c);
-                            break;
-                        case BEHAVIOUR_DYNAMIC:
-                            marginEndForIconRight = Math.min(absoluteDisplacement, (marginEndForIconRight + iconWidth) + MARGIN);
-                            iconRightAnimDrawable.setBounds((viewWidth - marginEndForIconRight) + MARGIN, marginTop, (viewWidth + iconWidth + MARGIN) - marginEndForIconRight, marginTop + iconHeight);
-                            iconRightAnimDrawable.draw(c);
-                            break;
-                        case BEHAVIOUR_STATIC_START:
-                        default:
-                            iconRightAnimDrawable.setBounds((viewWidth - iconWidth) - MARGIN, marginTop, viewWidth - MARGIN, marginTop + iconHeight);
-                            iconRightAnimDrawable.draw(c);
-                            break;
-                    }
-                    iconRightAnimDrawable.start();
-                    return;
-                }
+    private void draw(Canvas c, RecyclerView.ViewHolder viewHolder, float dX, int densityDpi, RenderState renderState){
 
-                if (iconRightDrawable != null){
+        SwipeFrame frame = renderState.frame;
+        frame.set(viewHolder, dX, densityDpi);
 
-                    iconWidth = iconRightDrawable.getIntrinsicWidth();
-                    iconHeight = iconRightDrawable.getIntrinsicHeight();
+        if (frame.displacement == 0){
+            // Back at rest, the swipe of the item has ended even if it is never cleared.
+            clearView(viewHolder, renderState);
+            return;
+        }
 
-                    marginEndForIconRight = (viewWidth - iconWidth) / 2;
-                    marginTop = ((viewHeight - iconHeight) / 2) + viewTop;
+        if (!trimRegistered){
+            DecorationTrimCallbacks.register(context, this);
+            trimRegistered = true;
+        }
+        renderState.onSwiped(viewHolder);
+
+        BackgroundRenderer backgroundRenderer;
+        IconRenderer iconRenderer;
+        IconRenderer degradedIconRenderer;
+        LabelRenderer labelRenderer;
+        RecordedDecoration recordedDecoration;
+        if (frame.direction == DIRECTION_RIGHT){
+            if (!leftPrepared){
+                prepareLeft();
+            }
+            backgroundRenderer = leftBackgroundRenderer;
+            iconRenderer = leftIconRenderer;
+            degradedIconRenderer = leftDegradedIconRenderer;
+            labelRenderer = leftLabelRenderer;
+            recordedDecoration = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && leftRecordable
+                    ? renderState.getLeftRecordedDecoration(backgroundRenderer, iconRenderer, labelRenderer) : null;
+        }else{
+            if (!rightPrepared){
+                prepareRight();
+            }
+            backgroundRenderer = rightBackgroundRenderer;
+            iconRenderer = rightIconRenderer;
+            degradedIconRenderer = rightDegradedIconRenderer;
+            labelRenderer = rightLabelRenderer;
+            recordedDecoration = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && rightRecordable
+                    ? renderState.getRightRecordedDecoration(backgroundRenderer, iconRenderer, labelRenderer) : null;
+        }
 
-                    if (iconRightBehaviour == null){
-                        iconRightBehaviour = BEHAVIOUR_STATIC_START;
-                    }
+        AdaptiveQuality adaptiveQuality = renderState.adaptiveQuality;
+        long drawStart = 0;
+        if (adaptiveQuality != null){
+            drawStart = System.nanoTime();
+            if (adaptiveQuality.update(frame, drawStart)){
+                iconRenderer = degradedIconRenderer;
+            }
+        }
 
-                    if (iconRightAnimation == null){
-                        iconRightAnimation = NO_ANIMATION;
-                    }
+        // Nothing outside of the revealed area can be seen, the swiped view covers it.
+        int saveCount = c.save();
+        c.clipRect(frame.revealBounds);
 
-                    if (iconRightAnimation == ANIMATION_ROTATE){
-
-                        angleConstraint = (viewWidth / 2);
-                        angleConstraint = Math.min(absoluteDisplacement, angleConstraint);
-                        pivotX = (iconWidth / 2.0f);
-                        pivotY = (iconHeight / 2.0f);
-                        rotationAngle = ((angleConstraint / (viewWidth / 2.0f)) * 360);
-
-                        Bitmap bitmapForStart = drawableToBitmap(iconRightDrawable);
-                        rotationMatrix.setRotate(rotationAngle, pivotX, pivotY);
-
-                        switch (iconRightBehaviour){
-                            case BEHAVIOUR_STATIC_START:
-                                rotationMatrix.postTranslate(viewWidth - MARGIN, marginTop);
-                                break;
-                            case BEHAVIOUR_STATIC_END:
-                                rotationMatrix.postTranslate((viewWidth + iconWidth + MARGIN) - absoluteDisplacement, marginTop);
-                                break;
-                            case BEHAVIOUR_STATIC_CENTER:
-                                rotationMatrix.postTranslate(marginEndForIconRight, marginTop);
-                                break;
-                            case BEHAVIOUR_DYNAMIC:
-                                marginEndForIconRight = Math.min(absoluteDisplacement, (marginEndForIconRight + iconWidth) + MARGIN);
-                                rotationMatrix.postTranslate((viewWidth + MARGIN) - marginEndForIconRight, marginTop);
-                                break;
-                        }
-                        c.drawBitmap(bitmapForStart, rotationMatrix, null);
-                    }else{
+        if (instrumented){
+            drawInstrumented(c, frame, backgroundRenderer, iconRenderer, labelRenderer, recordedDecoration, adaptiveQuality);
+        }else if (recordedDecoration == null || !recordedDecoration.draw(c, frame)){
+            backgroundRenderer.draw(c, frame);
+            iconRenderer.draw(c, frame);
+            labelRenderer.draw(c, frame);
+        }
 
-                        if (iconRightAnimation == ANIMATION_FADE){
+        c.restoreToCount(saveCount);
 
-                            alpha = ((absoluteDisplacement / ((viewWidth + iconWidth) / 2.0f)) * 255);
-                            iconRightDrawable.setAlpha((int)alpha);
-                        }
+        if (adaptiveQuality != null){
+            adaptiveQuality.onFrameDrawn(System.nanoTime() - drawStart);
+        }
+    }
 
-                        switch (iconRightBehaviour){
-                            case BEHAVIOUR_STATIC_START:
+    // Same as the end of applyDecoration, timed and wrapped in trace sections.
+    private void drawInstrumented(Canvas c, SwipeFrame frame, BackgroundRenderer backgroundRenderer, IconRenderer iconRenderer,
+                                  LabelRenderer labelRenderer, RecordedDecoration recordedDecoration, AdaptiveQuality adaptiveQuality){
 
-                                iconRightDrawable.setBounds((viewWidth - iconWidth) - MARGIN, marginTop, viewWidth - MARGIN, marginTop + iconHeight);
-                                iconRightDrawable.draw(c);
+        if (tracingEnabled){
+            TraceCompat.beginSection(TRACE_BACKGROUND);
+        }
+        long start = System.nanoTime();
+        // A replayed display list is reported as background, it has no separate icon phase.
+        boolean replayed = recordedDecoration != null && recordedDecoration.draw(c, frame);
+        if (!replayed){
+            backgroundRenderer.draw(c, frame);
+        }
+        long backgroundEnd = System.nanoTime();
+        if (tracingEnabled){
+            TraceCompat.endSection();
+            TraceCompat.beginSection(TRACE_ICON);
+        }
+        // Labels are reported as part of the icon.
+        if (!replayed){
+            iconRenderer.draw(c, frame);
+            labelRenderer.draw(c, frame);
+        }
+        long iconEnd = System.nanoTime();
+        if (tracingEnabled){
+            TraceCompat.endSection();
+        }
 
+        if (metricsListener != null){
+            metrics.setDegraded(adaptiveQuality != null && adaptiveQuality.isDegraded());
+            metrics.set(frame.direction, backgroundEnd - start, iconEnd - backgroundEnd,
+                    iconBitmapCache.getRasterizationCount(), iconBitmapCache.getHitCount(), getBitmapByteCount());
+            metricsListener.onDecorationDrawn(metrics);
+        }
+    }
 
-                                break;
-                            case BEHAVIOUR_STATIC_END:
+    // Does the work the first swipe would do otherwise, called off the main thread before the decoration is published.
+    private void prewarm(){
+        if (!leftPrepared){
+            prepareLeft();
+        }
+        if (!rightPrepared){
+            prepareRight();
+        }
+
+        int densityDpi = getDensityDpi();
+        leftIconRenderer.prewarm(densityDpi);
+        rightIconRenderer.prewarm(densityDpi);
+    }
 
-                                iconRightDrawable.setBounds((viewWidth + MARGIN) - absoluteDisplacement, marginTop, (viewWidth + iconWidth + MARGIN) - absoluteDisplacement, marginTop + iconHeight);
-                                iconRightDrawable.draw(c);
+    /**
+     * Releases the icon state kept for a view holder while it is swiped.
+     * <p>
+     * Faded and animated icons get their own copy of the icon for every view holder being
+     * swiped, so that concurrent swipes don't interfere. Call this method inside
+     * <code>clearView</code> of {@link ItemTouchHelper} callback to return the copy to the
+     * decoration, it is reused by the next swipe.
+     * @param viewHolder whose swipe has ended.
+     */
+    public void clearView(@NonNull RecyclerView.ViewHolder viewHolder){
+        clearView(viewHolder, defaultRenderState);
+    }
 
-                                break;
-                            case BEHAVIOUR_STATIC_CENTER:
+    /**
+     * Same as {@link #clearView(RecyclerView.ViewHolder)}, for a decoration shared by several RecyclerViews.
+     * @param viewHolder whose swipe has ended.
+     * @param renderState of the RecyclerView of the view holder, see {@link #newRenderState()}.
+     */
+    public void clearView(@NonNull RecyclerView.ViewHolder viewHolder, @NonNull RenderState renderState){
+        renderState.release(viewHolder);
+        leftIconRenderer.release(viewHolder);
+        rightIconRenderer.release(viewHolder);
 
-                                iconRightDrawable.setBounds(marginEndForIconRight, marginTop, marginEndForIconRight + iconWidth, marginTop + iconHeight);
-                                iconRightDrawable.draw(c);
+        if (renderState.adaptiveQuality != null){
+            renderState.adaptiveQuality.release(viewHolder);
+        }
+    }
 
+    /**
+     * @return bytes of the bitmaps currently held by the decoration, i.e. icons rasterized
+     * for {@link #ANIMATION_ROTATE} and sprite sheets. Bitmaps of a {@link BitmapDrawable} set as
+     * icon are not counted.
+     */
+    public long getBitmapByteCount(){
+        return iconBitmapCache.getByteCount() + leftIconRenderer.getByteCount() + rightIconRenderer.getByteCount();
+    }
 
-                                break;
-                            case BEHAVIOUR_DYNAMIC:
+    /**
+     * Releases the bitmaps cached for {@link #ANIMATION_ROTATE} and the icon copies kept
+     * for swiped view holders.
+     * <p>
+     * The same caches are dropped when the system is low on memory or the app's UI is hidden,
+     * see {@link android.content.ComponentCallbacks2#onTrimMemory(int)}, except the ones used
+     * by items still being swiped.
+     * Call this when the decoration is no longer needed, e.g. in <code>onDestroy</code>.
+     * The decoration can still be used afterwards, the bitmaps are recreated on the next swipe.
+     */
+    public void release(){
+        if (trimRegistered){
+            DecorationTrimCallbacks.unregister(this);
+            trimRegistered = false;
+        }
 
-                                marginEndForIconRight = Math.min(absoluteDisplacement, (marginEndForIconRight + iconWidth) + MARGIN);
-                                iconRightDrawable.setBounds((viewWidth + MARGIN) - marginEndForIconRight, marginTop, (viewWidth + iconWidth + MARGIN) - marginEndForIconRight, marginTop + iconHeight);
-                                iconRightDrawable.draw(c);
+        clearCaches();
+        synchronized (renderStates){
+            for (RenderState renderState : renderStates){
+                renderState.clear();
+            }
+        }
+    }
 
-                                break;
-                        }
-                    }
+    /**
+     * Drops the caches no swiped item is using, they are filled again by the next frame.
+     * Called by DecorationTrimCallbacks, the state of items swiped meanwhile is kept, so
+     * their icons go on animating and shared bitmaps are not rasterized again mid-swipe.
+     */
+    void trimMemory(){
+        boolean swiping = false;
+        synchronized (renderStates){
+            for (RenderState renderState : renderStates){
+                if (renderState.isSwiping()){
+                    swiping = true;
+                }else{
+                    renderState.clear();
                 }
+            }
+        }
 
-                break;
+        if (swiping){
+            leftIconRenderer.trim();
+            rightIconRenderer.trim();
+        }else{
+            clearCaches();
         }
     }
 
+    private void clearCaches(){
+        iconBitmapCache.clear();
+        leftIconRenderer.clear();
+        rightIconRenderer.clear();
+        leftLabelRenderer.clear();
+        rightLabelRenderer.clear();
+    }
+
+    private int getDensityDpi(){
+        return context.getResources().getDisplayMetrics().densityDpi;
+    }
+
     /**
      * Helper method to convert a drawable to Bitmap. Bonus
      * @param drawable to convert
@@ -0,0 +1,100 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.graphics.Matrix;
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Geometry of the view being swiped, computed once per frame by {@link SwipeDecoration}
+ * and shared by its renderers.
+ * <p>
+ * A single instance is reused for every frame, so renderers must not keep references
+ * to it or to its scratch objects.
+ */
+final class SwipeFrame {
+
+    RecyclerView.ViewHolder viewHolder;
+
+    int direction;
+    int displacement;
+
+    int viewLeft;
+    int viewTop;
+    int viewRight;
+    int viewBottom;
+    int viewWidth;
+    int viewHeight;
+
+    int densityDpi;
+
+    // Area uncovered by the swiped view.
+    final Rect revealBounds = new Rect();
+
+    final Rect iconBounds = new Rect();
+    final Rect labelBounds = new Rect();
+    final Matrix matrix = new Matrix();
+
+    void set(@NonNull RecyclerView.ViewHolder viewHolder, float dX, int densityDpi){
+
+        View view = viewHolder.itemView;
+        this.viewHolder = viewHolder;
+        this.direction = (int) dX > 0 ? SwipeDecoration.DIRECTION_RIGHT : SwipeDecoration.DIRECTION_LEFT;
+        this.displacement = Math.abs((int) dX);
+        this.viewLeft = view.getLeft();
+        this.viewTop = view.getTop();
+        this.viewRight = view.getRight();
+        this.viewBottom = view.getBottom();
+        this.viewWidth = view.getWidth();
+        this.viewHeight = view.getHeight();
+        this.densityDpi = densityDpi;
+
+        if (direction == SwipeDecoration.DIRECTION_RIGHT){
+            revealBounds.set(viewLeft, viewTop, viewLeft + displacement, viewBottom);
+        }else{
+            revealBounds.set(viewRight - displacement, viewTop, viewRight, viewBottom);
+        }
+    }
+
+    /**
+     * Describes the view of another frame fully revealed, relative to the top of the view.
+     * Used to record the decoration of a whole item once.
+     */
+    void setFullyRevealed(@NonNull SwipeFrame frame){
+
+        this.direction = frame.direction;
+        this.displacement = frame.viewWidth;
+        this.viewLeft = frame.viewLeft;
+        this.viewTop = 0;
+        this.viewRight = frame.viewRight;
+        this.viewBottom = frame.viewHeight;
+        this.viewWidth = frame.viewWidth;
+        this.viewHeight = frame.viewHeight;
+        this.densityDpi = frame.densityDpi;
+
+        revealBounds.set(viewLeft, viewTop, viewRight, viewBottom);
+    }
+
+    /**
+     * @return true if {@link #iconBounds} overlaps the revealed area, icons outside of it
+     * are covered by the swiped view and need not be drawn.
+     */
+    boolean isIconRevealed(){
+        return Rect.intersects(revealBounds, iconBounds);
+    }
+
+    /**
+     * Sets {@link #iconBounds} for an icon starting at the given left edge,
+     * centered vertically inside the view.
+     * @param iconLeft relative to the left of the view, as returned by
+     *                 {@link SwipeDecoration.IconBehaviour#getIconLeft(int, int, int, int)}.
+     */
+    void setIconBounds(int iconLeft, int iconWidth, int iconHeight){
+        // Same space as revealBounds, the view may not start at the left of the list.
+        int left = viewLeft + iconLeft;
+        int marginTop = ((viewHeight - iconHeight) / 2) + viewTop;
+        iconBounds.set(left, marginTop, left + iconWidth, marginTop + iconHeight);
+    }
+}
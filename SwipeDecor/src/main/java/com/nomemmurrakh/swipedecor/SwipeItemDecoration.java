@@ -0,0 +1,131 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.graphics.Canvas;
+import android.view.ViewParent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.ItemTouchHelper;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+
+/**
+ * Applies a {@link SwipeDecoration} as a {@link RecyclerView.ItemDecoration}.
+ * <p>
+ * Instead of calling {@link SwipeDecoration#applyDecoration(Canvas, RecyclerView.ViewHolder, float)}
+ * from <code>OnChildDraw</code> for every child, this draws every swiped or recovering child
+ * in one pass before the children are drawn. This is cheaper when several items move at once,
+ * e.g. after undoing a bulk removal.
+ * <p>
+ * Only items swiped with {@link ItemTouchHelper} are decorated, items translated by an
+ * item animator are not. Call {@link #onSelectedChanged(RecyclerView.ViewHolder, int)} inside
+ * <code>onSelectedChanged</code> of {@link ItemTouchHelper} callback so the swiped item is known.
+ * An item is decorated until it is back in place or removed from the list, then the state kept
+ * for it is released.
+ * <p>
+ * {@link ItemTouchHelper} moves the swiped items in its own <code>onDraw</code>, and decorations
+ * are drawn in the order they were added. When a swipe starts this decoration moves itself after
+ * the helper, so it can be added before or after <code>attachToRecyclerView</code>.
+ * <pre>
+ * recyclerView.addItemDecoration(itemDecoration = new SwipeItemDecoration(decoration));
+ * ...
+ * public void onSelectedChanged(RecyclerView.ViewHolder viewHolder, int actionState) {
+ *     super.onSelectedChanged(viewHolder, actionState);
+ *     itemDecoration.onSelectedChanged(viewHolder, actionState);
+ * }
+ * </pre>
+ * An item decoration belongs to one list, add a new one to every list sharing the decoration.
+ */
+public class SwipeItemDecoration extends RecyclerView.ItemDecoration {
+
+    private final SwipeDecoration decoration;
+    private final SwipeDecoration.RenderState renderState;
+
+    // Swiped or recovering from a swipe, in the order they were swiped.
+    private final ArrayList<RecyclerView.ViewHolder> viewHolders;
+    private RecyclerView.ViewHolder selected;
+
+    public SwipeItemDecoration(@NonNull SwipeDecoration decoration){
+        this.decoration = decoration;
+        this.renderState = decoration.newRenderState();
+        this.viewHolders = new ArrayList<>();
+    }
+
+    public SwipeDecoration getDecoration() {
+        return decoration;
+    }
+
+    /**
+     * @return state of the list this is added to.
+     */
+    public SwipeDecoration.RenderState getRenderState() {
+        return renderState;
+    }
+
+    /**
+     * Tracks the item swiped by the user, call it inside <code>onSelectedChanged</code> of
+     * {@link ItemTouchHelper} callback.
+     * @param viewHolder selected by {@link ItemTouchHelper}, null when it is released.
+     * @param actionState one of the <code>ItemTouchHelper.ACTION_STATE_*</code> constants.
+     */
+    public void onSelectedChanged(@Nullable RecyclerView.ViewHolder viewHolder, int actionState){
+
+        if (viewHolder == null || actionState != ItemTouchHelper.ACTION_STATE_SWIPE){
+            // A released item keeps being decorated while it recovers.
+            selected = null;
+            return;
+        }
+
+        selected = viewHolder;
+        if (!viewHolders.contains(viewHolder)){
+            viewHolders.add(viewHolder);
+        }
+
+        ViewParent parent = viewHolder.itemView.getParent();
+        if (parent instanceof RecyclerView){
+            drawAfterItemTouchHelper((RecyclerView) parent);
+        }
+    }
+
+    // Drawn before the helper, the translation of the swiped item would be the one of the
+    // previous frame. Not done while drawing, changing the decorations requests a layout.
+    private void drawAfterItemTouchHelper(RecyclerView parent){
+        boolean added = false;
+        for (int i = 0, count = parent.getItemDecorationCount(); i < count; i++){
+            RecyclerView.ItemDecoration itemDecoration = parent.getItemDecorationAt(i);
+            if (itemDecoration == this){
+                added = true;
+            }else if (added && itemDecoration instanceof ItemTouchHelper){
+                parent.removeItemDecoration(this);
+                parent.addItemDecoration(this);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops decorating an item and releases its state right away. Optional, items are
+     * released on their own once they are back in place.
+     * @param viewHolder whose swipe has ended.
+     */
+    public void clearView(@NonNull RecyclerView.ViewHolder viewHolder){
+        viewHolders.remove(viewHolder);
+        if (selected == viewHolder){
+            selected = null;
+        }
+        decoration.clearView(viewHolder, renderState);
+    }
+
+    /**
+     * @return true if the item is decorated, i.e. it is swiped or recovering.
+     */
+    boolean isTracked(@NonNull RecyclerView.ViewHolder viewHolder){
+        return viewHolders.contains(viewHolder);
+    }
+
+    @Override
+    public void onDraw(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        decoration.applyDecorations(c, parent, viewHolders, selected, renderState);
+    }
+}
@@ -0,0 +1,90 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.os.Build;
+import android.util.DisplayMetrics;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link AdaptiveQuality} measures velocity per item and cost per frame when
+ * several items are drawn in the same frame.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class AdaptiveQualityTest {
+
+    private static final long FRAME_NANOS = 16000000L;
+    private static final long BUDGET_NANOS = 2000000L;
+    private static final float MAX_VELOCITY_DP = 2000f;
+    private static final int FRAMES = 60;
+
+    private RecyclerView.ViewHolder first;
+    private RecyclerView.ViewHolder second;
+    private SwipeFrame frame;
+
+    @Before
+    public void setUp() {
+        first = new RecyclerView.ViewHolder(new View(ApplicationProvider.getApplicationContext())) {};
+        second = new RecyclerView.ViewHolder(new View(ApplicationProvider.getApplicationContext())) {};
+        frame = new SwipeFrame();
+        frame.densityDpi = DisplayMetrics.DENSITY_DEFAULT;
+    }
+
+    @Test
+    public void slowItemsAtBudget_areNotDegraded() {
+        AdaptiveQuality adaptiveQuality = new AdaptiveQuality(BUDGET_NANOS, MAX_VELOCITY_DP);
+
+        // 1 px per frame, both items together take a third of the budget.
+        drawFrames(adaptiveQuality, 1, BUDGET_NANOS / 6);
+
+        assertFalse(adaptiveQuality.isDegraded());
+    }
+
+    @Test
+    public void fastItemsDrawnInSameFrame_areDegraded() {
+        AdaptiveQuality adaptiveQuality = new AdaptiveQuality(BUDGET_NANOS, MAX_VELOCITY_DP);
+
+        // 64 px per frame is 4000 dp per second.
+        drawFrames(adaptiveQuality, 64, 0);
+
+        assertTrue(adaptiveQuality.isDegraded());
+    }
+
+    @Test
+    public void costOfItemsDrawnInSameFrame_isAdded() {
+        AdaptiveQuality adaptiveQuality = new AdaptiveQuality(BUDGET_NANOS, MAX_VELOCITY_DP);
+
+        // Each item is under the budget, both are over it.
+        drawFrames(adaptiveQuality, 1, BUDGET_NANOS * 3 / 4);
+
+        assertTrue(adaptiveQuality.isDegraded());
+    }
+
+    // Draws both items in every frame, the second one a millisecond after the first.
+    private void drawFrames(AdaptiveQuality adaptiveQuality, int pixelsPerFrame, long itemNanos) {
+        for (int i = 0; i < FRAMES; i++) {
+            long frameNanos = i * FRAME_NANOS;
+            draw(adaptiveQuality, first, i * pixelsPerFrame, frameNanos, itemNanos);
+            draw(adaptiveQuality, second, i * pixelsPerFrame / 2, frameNanos + 1000000L, itemNanos);
+        }
+    }
+
+    private void draw(AdaptiveQuality adaptiveQuality, RecyclerView.ViewHolder viewHolder, int displacement,
+                      long frameNanos, long itemNanos) {
+        frame.viewHolder = viewHolder;
+        frame.displacement = displacement;
+        adaptiveQuality.update(frame, frameNanos);
+        adaptiveQuality.onFrameDrawn(itemNanos);
+    }
+}
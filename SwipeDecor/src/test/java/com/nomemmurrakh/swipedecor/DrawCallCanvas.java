@@ -0,0 +1,123 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.graphics.Bitmap;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Canvas that records what a decoration draws instead of drawing it, so tests can check
+ * where and whether something was drawn without rendering pixels.
+ */
+class DrawCallCanvas extends SwipeDecorationAllocationTest.NoOpCanvas {
+
+    // Last clip applied, empty when nothing was clipped.
+    final Rect clipBounds = new Rect();
+
+    // Destination of every rect and bitmap drawn, in drawing order.
+    final List<Rect> drawnBounds = new ArrayList<>();
+
+    // Source of every part of a bitmap drawn, e.g. a frame of a sprite sheet.
+    final List<Rect> bitmapSources = new ArrayList<>();
+
+    // Number of text runs drawn, text has no bounds of its own.
+    int textCount;
+
+    void reset() {
+        clipBounds.setEmpty();
+        drawnBounds.clear();
+        bitmapSources.clear();
+        textCount = 0;
+    }
+
+    @Override
+    public boolean clipRect(Rect rect) {
+        clipBounds.set(rect);
+        return true;
+    }
+
+    @Override
+    public void drawRect(Rect r, Paint paint) {
+        drawnBounds.add(new Rect(r));
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        drawnBounds.add(toRect(rect));
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        drawnBounds.add(toRect(new RectF(left, top, right, bottom)));
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        drawnBounds.add(toRect(rect));
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint) {
+        RectF bounds = new RectF(0, 0, bitmap.getWidth(), bitmap.getHeight());
+        matrix.mapRect(bounds);
+        drawnBounds.add(toRect(bounds));
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        drawnBounds.add(toRect(new RectF(left, top, left + bitmap.getWidth(), top + bitmap.getHeight())));
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        bitmapSources.add(new Rect(src));
+        drawnBounds.add(new Rect(dst));
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        drawnBounds.add(toRect(dst));
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        textCount++;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        textCount++;
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        textCount++;
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        textCount++;
+    }
+
+    @Override
+    public void drawTextRun(char[] text, int index, int count, int contextIndex, int contextCount,
+                            float x, float y, boolean isRtl, Paint paint) {
+        textCount++;
+    }
+
+    @Override
+    public void drawTextRun(CharSequence text, int start, int end, int contextStart, int contextEnd,
+                            float x, float y, boolean isRtl, Paint paint) {
+        textCount++;
+    }
+
+    private static Rect toRect(RectF rect) {
+        Rect bounds = new Rect();
+        rect.round(bounds);
+        return bounds;
+    }
+}
@@ -0,0 +1,183 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.drawable.Animatable;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.util.DisplayMetrics;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that items swiped together each draw their own copy of the icon through
+ * {@link IconDrawablePool}, and that copies are reused once released.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class IconDrawablePoolTest {
+
+    private static final int VIEW_WIDTH = 600;
+    private static final int VIEW_HEIGHT = 200;
+    private static final int ICON_SIZE = 48;
+
+    private Context context;
+    private RecyclerView.ViewHolder first;
+    private RecyclerView.ViewHolder second;
+    private SwipeFrame frame;
+    private SwipeDecorationAllocationTest.NoOpCanvas canvas;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        first = newViewHolder();
+        second = newViewHolder();
+        frame = new SwipeFrame();
+        canvas = new SwipeDecorationAllocationTest.NoOpCanvas();
+    }
+
+    @Test
+    public void concurrentFades_keepTheirOwnAlpha() {
+        Drawable icon = SwipeTestFixtures.newIcon(ICON_SIZE);
+        IconDrawablePool pool = new IconDrawablePool(icon, context.getResources());
+        IconRenderer renderer = new IconRenderer.Fade(icon, IconBehaviours.STATIC_START, pool, InterpolationCurve.LINEAR);
+
+        // Drawn in the same frame, as ItemTouchHelper does for an item recovering while another is swiped.
+        draw(renderer, first, 100);
+        draw(renderer, second, 250);
+
+        Drawable firstIcon = pool.get(first);
+        Drawable secondIcon = pool.get(second);
+        assertNotSame(firstIcon, secondIcon);
+        assertNotSame(icon, firstIcon);
+        assertNotEquals(firstIcon.getAlpha(), secondIcon.getAlpha());
+
+        int firstAlpha = firstIcon.getAlpha();
+        draw(renderer, second, 300);
+        assertEquals(firstAlpha, firstIcon.getAlpha());
+    }
+
+    @Test
+    public void concurrentAnimations_runOnTheirOwn() {
+        AnimatedIcon icon = new AnimatedIcon();
+        IconDrawablePool pool = new IconDrawablePool(icon, context.getResources());
+        IconRenderer renderer = new IconRenderer.Animated(icon, IconBehaviours.STATIC_START, pool);
+
+        draw(renderer, first, 100);
+        draw(renderer, second, 100);
+
+        AnimatedIcon firstIcon = (AnimatedIcon) pool.get(first);
+        AnimatedIcon secondIcon = (AnimatedIcon) pool.get(second);
+        assertNotSame(firstIcon, secondIcon);
+        assertFalse(icon.isRunning());
+        assertTrue(firstIcon.isRunning());
+        assertTrue(secondIcon.isRunning());
+
+        // The end of one swipe does not stop the animation of the other.
+        renderer.release(first);
+        assertFalse(firstIcon.isRunning());
+        assertTrue(secondIcon.isRunning());
+        assertNull(pool.get(first));
+
+        // The next swipe reuses the released copy and plays it again.
+        RecyclerView.ViewHolder third = newViewHolder();
+        draw(renderer, third, 100);
+        assertSame(firstIcon, pool.get(third));
+        assertTrue(firstIcon.isRunning());
+    }
+
+    private void draw(IconRenderer renderer, RecyclerView.ViewHolder viewHolder, float dX) {
+        frame.set(viewHolder, dX, DisplayMetrics.DENSITY_DEFAULT);
+        renderer.draw(canvas, frame);
+    }
+
+    private RecyclerView.ViewHolder newViewHolder() {
+        View itemView = new View(context);
+        itemView.layout(0, 0, VIEW_WIDTH, VIEW_HEIGHT);
+        return new RecyclerView.ViewHolder(itemView) {};
+    }
+
+    // Stands in for an animated vector drawable, copies start stopped.
+    private static final class AnimatedIcon extends Drawable implements Animatable {
+
+        private boolean running;
+
+        @Override
+        public void start() {
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public void draw(@NonNull Canvas canvas) {
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+        }
+
+        @Override
+        public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+
+        @Override
+        public int getIntrinsicWidth() {
+            return ICON_SIZE;
+        }
+
+        @Override
+        public int getIntrinsicHeight() {
+            return ICON_SIZE;
+        }
+
+        @Override
+        public ConstantState getConstantState() {
+            return new ConstantState() {
+                @NonNull
+                @Override
+                public Drawable newDrawable() {
+                    return new AnimatedIcon();
+                }
+
+                @Override
+                public int getChangingConfigurations() {
+                    return 0;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.animation.TimeInterpolator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that {@link InterpolationCurve} does not quantize progress.
+ */
+public class InterpolationCurveTest {
+
+    @Test
+    public void linear_returnsProgress() {
+        // Wider than the table, a 4000 px item moved by one pixel.
+        float progress = 1f / 4000;
+
+        assertEquals(progress, InterpolationCurve.LINEAR.get(progress), 0f);
+        assertEquals(0.33337f, InterpolationCurve.LINEAR.get(0.33337f), 0f);
+        assertEquals(0f, InterpolationCurve.LINEAR.get(-0.5f), 0f);
+        assertEquals(1f, InterpolationCurve.LINEAR.get(1.5f), 0f);
+    }
+
+    @Test
+    public void customInterpolator_isInterpolatedBetweenSamples() {
+        InterpolationCurve curve = InterpolationCurve.of(new TimeInterpolator() {
+            @Override
+            public float getInterpolation(float input) {
+                return input * input;
+            }
+        });
+
+        for (int pixel = 0; pixel <= 4000; pixel++) {
+            float progress = pixel / 4000f;
+            assertEquals(progress * progress, curve.get(progress), 1e-5f);
+        }
+    }
+}
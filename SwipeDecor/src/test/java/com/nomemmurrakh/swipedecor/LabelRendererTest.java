@@ -0,0 +1,88 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.os.Build;
+import android.text.StaticLayout;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link LabelRenderer.Text} keeps labels within {@link LabelRenderer.Text#MAX_LINES}
+ * on every API level and within the height of the item.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class LabelRendererTest {
+
+    private static final int VIEW_WIDTH = 600;
+    private static final int ICON_SIZE = 48;
+    private static final float TEXT_SIZE = 30f;
+
+    private static final String LONG_TEXT = "Move this conversation to the archive, it can be found later "
+            + "under the archived conversations of the account it belongs to.";
+
+    private Context context;
+    private DrawCallCanvas canvas;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        canvas = new DrawCallCanvas();
+    }
+
+    @Test
+    @Config(sdk = {Build.VERSION_CODES.KITKAT, Build.VERSION_CODES.P})
+    public void longLabel_isCutToMaxLines() {
+        LabelRenderer.Text label = newLabel(LONG_TEXT);
+
+        StaticLayout layout = label.getLayout(4 * LabelRenderer.Text.WIDTH_BUCKET);
+
+        assertTrue(layout.getLineCount() > 1);
+        assertTrue(layout.getLineCount() <= LabelRenderer.Text.MAX_LINES);
+    }
+
+    @Test
+    public void label_isDrawnBeneathIcon() {
+        LabelRenderer.Text label = newLabel("Archive");
+        SwipeFrame frame = newFrame(200);
+
+        label.draw(canvas, frame);
+
+        assertTrue(canvas.textCount > 0);
+        assertEquals((200 - ICON_SIZE) / 2 + ICON_SIZE + SwipeDecoration.MARGIN, frame.labelBounds.top);
+    }
+
+    @Test
+    public void labelTallerThanItem_isNotDrawn() {
+        LabelRenderer.Text label = newLabel("Archive");
+
+        label.draw(canvas, newFrame(ICON_SIZE + SwipeDecoration.MARGIN));
+
+        assertEquals(0, canvas.textCount);
+    }
+
+    private LabelRenderer.Text newLabel(String text) {
+        return new LabelRenderer.Text(text, null, TEXT_SIZE, Color.WHITE, IconBehaviours.STATIC_START,
+                ICON_SIZE, ICON_SIZE, null);
+    }
+
+    private SwipeFrame newFrame(int viewHeight) {
+        View itemView = new View(context);
+        itemView.layout(0, 0, VIEW_WIDTH, viewHeight);
+        SwipeFrame frame = new SwipeFrame();
+        frame.set(new RecyclerView.ViewHolder(itemView) {}, VIEW_WIDTH / 2f, 160);
+        return frame;
+    }
+}
@@ -0,0 +1,115 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
+import android.os.Build;
+import android.util.DisplayMetrics;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link IconRenderer.SpriteRotate} blits the frame of its {@link RotationSprite}
+ * matching the rotation angle, once the sprite is rendered.
+ * <p>
+ * The icon is a BitmapDrawable scaled by density, its bitmap is twice its intrinsic size,
+ * so a sprite compared by bitmap size would never be used.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class RotationSpriteTest {
+
+    private static final int VIEW_WIDTH = 600;
+    private static final int VIEW_HEIGHT = 200;
+    private static final int BITMAP_SIZE = 48;
+    private static final int FRAME_COUNT = 8;
+
+    // Runs the sprite rendering right away, it is published before the next frame.
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private BitmapDrawable icon;
+    private RecyclerView.ViewHolder viewHolder;
+    private SwipeFrame frame;
+    private DrawCallCanvas canvas;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+
+        Bitmap bitmap = Bitmap.createBitmap(BITMAP_SIZE, BITMAP_SIZE, Bitmap.Config.ARGB_8888);
+        bitmap.setDensity(context.getResources().getDisplayMetrics().densityDpi * 2);
+        icon = new BitmapDrawable(context.getResources(), bitmap);
+
+        View itemView = new View(context);
+        itemView.layout(0, 0, VIEW_WIDTH, VIEW_HEIGHT);
+        viewHolder = new RecyclerView.ViewHolder(itemView) {};
+        frame = new SwipeFrame();
+        canvas = new DrawCallCanvas();
+    }
+
+    @Test
+    public void densityScaledBitmap_isDrawnFromSprite() {
+        assertNotEquals(BITMAP_SIZE, icon.getIntrinsicWidth());
+        IconRenderer renderer = newRenderer();
+
+        // The first frame requests the sprite and rotates the icon meanwhile.
+        draw(renderer, VIEW_WIDTH / 8);
+        assertTrue(canvas.bitmapSources.isEmpty());
+
+        draw(renderer, VIEW_WIDTH / 8);
+        assertEquals(1, canvas.bitmapSources.size());
+    }
+
+    @Test
+    public void spriteFrame_followsRotationAngle() {
+        IconRenderer renderer = newRenderer();
+        RotationSprite sprite = RotationSprite.render(icon.getBitmap(), icon.getIntrinsicWidth(), icon.getIntrinsicHeight(),
+                FRAME_COUNT, DisplayMetrics.DENSITY_DEFAULT);
+        draw(renderer, VIEW_WIDTH / 8);
+
+        // A full turn over the first half of the view, a quarter of it is a quarter turn.
+        draw(renderer, VIEW_WIDTH / 8);
+        assertEquals(frameBounds(sprite, 90f), canvas.bitmapSources.get(0));
+
+        draw(renderer, VIEW_WIDTH / 4);
+        assertEquals(frameBounds(sprite, 180f), canvas.bitmapSources.get(0));
+        assertEquals(FRAME_COUNT / 2, sprite.frameIndex(180f));
+    }
+
+    private IconRenderer newRenderer() {
+        return new IconRenderer.SpriteRotate(icon, IconBehaviours.STATIC_START, new IconBitmapCache(IconBitmapCache.DEFAULT_MAX_ENTRIES),
+                InterpolationCurve.LINEAR, FRAME_COUNT, DIRECT);
+    }
+
+    private void draw(IconRenderer renderer, float dX) {
+        canvas.reset();
+        frame.set(viewHolder, dX, DisplayMetrics.DENSITY_DEFAULT);
+        renderer.draw(canvas, frame);
+    }
+
+    private static Rect frameBounds(RotationSprite sprite, float angle) {
+        Rect bounds = new Rect();
+        sprite.getFrameBounds(sprite.frameIndex(angle), bounds);
+        return bounds;
+    }
+}
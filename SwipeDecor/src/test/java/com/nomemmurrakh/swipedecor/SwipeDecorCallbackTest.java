@@ -0,0 +1,86 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ItemTouchHelper;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks what {@link SwipeDecorCallback} draws and releases, on a software canvas where
+ * nothing is replayed.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class SwipeDecorCallbackTest {
+
+    private RecyclerView recyclerView;
+    private RecyclerView.ViewHolder viewHolder;
+    private SwipeDecorCallback callback;
+    private DrawCallCanvas canvas;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+
+        recyclerView = SwipeTestFixtures.newList(context);
+        viewHolder = recyclerView.findViewHolderForAdapterPosition(1);
+
+        SwipeDecoration decoration = SwipeTestFixtures.newColorBuilder(context, 24).build();
+        callback = new SwipeDecorCallback(decoration, ItemTouchHelper.LEFT | ItemTouchHelper.RIGHT) {
+            @Override
+            public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
+            }
+        };
+        canvas = new DrawCallCanvas();
+    }
+
+    @Test
+    public void subPixelDisplacement_isSkipped() {
+        draw(0.9f, ItemTouchHelper.ACTION_STATE_SWIPE);
+        draw(-0.9f, ItemTouchHelper.ACTION_STATE_SWIPE);
+
+        assertTrue(canvas.drawnBounds.isEmpty());
+        assertTrue(canvas.clipBounds.isEmpty());
+        assertFalse(callback.getRenderState().isSwiping());
+    }
+
+    @Test
+    public void drag_isNotDecorated() {
+        draw(SwipeTestFixtures.LIST_WIDTH / 2f, ItemTouchHelper.ACTION_STATE_DRAG);
+
+        assertTrue(canvas.drawnBounds.isEmpty());
+    }
+
+    @Test
+    public void wholePixelDisplacement_isDecorated() {
+        draw(1.5f, ItemTouchHelper.ACTION_STATE_SWIPE);
+
+        assertFalse(canvas.drawnBounds.isEmpty());
+    }
+
+    @Test
+    public void clearView_releasesItem() {
+        draw(SwipeTestFixtures.LIST_WIDTH / 2f, ItemTouchHelper.ACTION_STATE_SWIPE);
+        assertTrue(callback.getRenderState().isSwiping());
+
+        callback.clearView(recyclerView, viewHolder);
+
+        assertFalse(callback.getRenderState().isSwiping());
+    }
+
+    private void draw(float dX, int actionState) {
+        callback.onChildDraw(canvas, recyclerView, viewHolder, dX, 0, actionState, true);
+    }
+}
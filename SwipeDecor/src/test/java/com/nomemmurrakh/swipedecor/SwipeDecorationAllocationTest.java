@@ -0,0 +1,255 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.GradientDrawable;
+import android.os.Build;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Regression test for the per-frame path of {@link SwipeDecoration#applyDecoration}.
+ * <p>
+ * Counts the bytes allocated by the current thread while a swipe is drawn, and fails
+ * if steady-state drawing allocates anything.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class SwipeDecorationAllocationTest {
+
+    private static final int VIEW_WIDTH = 1080;
+    private static final int VIEW_HEIGHT = 200;
+    private static final int ICON_SIZE = 48;
+
+    private static final int WARM_UP_FRAMES = 200;
+    private static final int MEASURED_FRAMES = 2000;
+
+    private Context context;
+    private RecyclerView.ViewHolder viewHolder;
+    private Canvas canvas;
+    private float[] displacements;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+
+        View itemView = new View(context);
+        itemView.layout(0, 0, VIEW_WIDTH, VIEW_HEIGHT);
+        viewHolder = new RecyclerView.ViewHolder(itemView) {};
+        canvas = new NoOpCanvas();
+
+        // A full swipe in both directions, with sub-pixel steps.
+        displacements = new float[64];
+        for (int i = 0; i < displacements.length; i++) {
+            float progress = (i + 0.5f) / displacements.length;
+            displacements[i] = (i % 2 == 0 ? 1 : -1) * progress * VIEW_WIDTH;
+        }
+    }
+
+    @Test
+    public void colorBackgroundWithStaticIcons_doesNotAllocate() {
+        assertNoAllocations(newBuilder()
+                .setIconLeftBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_START)
+                .setIconRightBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_END)
+                .build());
+    }
+
+    @Test
+    public void fadeAnimation_doesNotAllocate() {
+        assertNoAllocations(newBuilder()
+                .setIconLeftBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_CENTER)
+                .setIconRightBehaviour(SwipeDecoration.BEHAVIOUR_DYNAMIC)
+                .setIconLeftAnimation(SwipeDecoration.ANIMATION_FADE)
+                .setIconRightAnimation(SwipeDecoration.ANIMATION_FADE)
+                .build());
+    }
+
+    @Test
+    public void rotateAnimation_doesNotAllocateAfterFirstFrame() {
+        assertNoAllocations(newBuilder()
+                .setIconLeftBehaviour(SwipeDecoration.BEHAVIOUR_DYNAMIC)
+                .setIconRightBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_START)
+                .setIconLeftAnimation(SwipeDecoration.ANIMATION_ROTATE)
+                .setIconRightAnimation(SwipeDecoration.ANIMATION_ROTATE)
+                .build());
+    }
+
+    @Test
+    public void fixedGradientBackground_doesNotAllocate() {
+        assertNoAllocations(newBuilder()
+                .setBackgroundLeftGradientDrawable(new GradientDrawable(GradientDrawable.Orientation.LEFT_RIGHT,
+                        new int[]{Color.CYAN, Color.BLUE}))
+                .setBackgroundRightGradientDrawable(new GradientDrawable(GradientDrawable.Orientation.RIGHT_LEFT,
+                        new int[]{Color.GRAY, Color.BLACK}))
+                .setBackgroundMode(SwipeDecoration.BACKGROUND_MODE_FIXED)
+                .build());
+    }
+
+    @Test
+    public void roundedBackground_doesNotAllocate() {
+        assertNoAllocations(newBuilder()
+                .setBackgroundShape(SwipeDecoration.BACKGROUND_SHAPE_ROUNDED, 24)
+                .build());
+    }
+
+    @Test
+    public void cardBackground_doesNotAllocate() {
+        assertNoAllocations(newBuilder()
+                .setBackgroundShape(SwipeDecoration.BACKGROUND_SHAPE_CARD, 24)
+                .build());
+    }
+
+    @Test
+    public void adaptiveQuality_doesNotAllocate() {
+        // A zero budget keeps every frame after the first one degraded.
+        assertNoAllocations(newBuilder()
+                .setIconLeftAnimation(SwipeDecoration.ANIMATION_ROTATE)
+                .setIconRightAnimation(SwipeDecoration.ANIMATION_FADE)
+                .setAdaptiveQualityEnabled(true)
+                .setAdaptiveQualityThresholds(0, SwipeDecoration.ADAPTIVE_DEFAULT_MAX_VELOCITY)
+                .build());
+    }
+
+    @Test
+    public void iconMasks_doNotAllocateAfterFirstFrame() {
+        assertNoAllocations(newBuilder()
+                .setIconMode(SwipeDecoration.ICON_MODE_MASK)
+                .setIconLeftAnimation(SwipeDecoration.ANIMATION_FADE)
+                .setIconRightAnimation(SwipeDecoration.ANIMATION_ROTATE)
+                .build());
+    }
+
+    @Test
+    public void sharedDecoration_doesNotAllocate() {
+        SwipeDecoration decoration = newBuilder()
+                .setIconLeftAnimation(SwipeDecoration.ANIMATION_FADE)
+                .setIconRightAnimation(SwipeDecoration.ANIMATION_ROTATE)
+                .setAdaptiveQualityEnabled(true)
+                .build();
+
+        // Two lists drawing the same decoration, each with its own render state and items.
+        View otherItemView = new View(context);
+        otherItemView.layout(0, 0, VIEW_WIDTH / 2, VIEW_HEIGHT);
+        RecyclerView.ViewHolder otherViewHolder = new RecyclerView.ViewHolder(otherItemView) {};
+        SwipeDecoration.RenderState renderState = decoration.newRenderState();
+        SwipeDecoration.RenderState otherRenderState = decoration.newRenderState();
+
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            float dX = displacements[i % displacements.length];
+            decoration.applyDecoration(canvas, viewHolder, dX, renderState);
+            decoration.applyDecoration(canvas, otherViewHolder, dX / 2, otherRenderState);
+        }
+
+        long probe = allocatedBytes();
+        long probeCost = allocatedBytes() - probe;
+
+        long before = allocatedBytes();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            float dX = displacements[i % displacements.length];
+            decoration.applyDecoration(canvas, viewHolder, dX, renderState);
+            decoration.applyDecoration(canvas, otherViewHolder, dX / 2, otherRenderState);
+        }
+        long allocated = allocatedBytes() - before - probeCost;
+
+        assertEquals("Bytes allocated by " + MEASURED_FRAMES + " frames of two lists", 0, Math.max(0, allocated));
+    }
+
+    private SwipeDecoration.Builder newBuilder() {
+        return SwipeTestFixtures.newColorBuilder(context, ICON_SIZE);
+    }
+
+    private void assertNoAllocations(SwipeDecoration decoration) {
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            decoration.applyDecoration(canvas, viewHolder, displacements[i % displacements.length]);
+        }
+
+        // Reading the counter may allocate itself, measure that once and subtract it.
+        long probe = allocatedBytes();
+        long probeCost = allocatedBytes() - probe;
+
+        long before = allocatedBytes();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            decoration.applyDecoration(canvas, viewHolder, displacements[i % displacements.length]);
+        }
+        long allocated = allocatedBytes() - before - probeCost;
+
+        assertEquals("Bytes allocated by " + MEASURED_FRAMES + " frames", 0, Math.max(0, allocated));
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Canvas that drops every draw call, so only allocations made by the decoration itself
+     * are counted and not the ones made by the graphics shadows.
+     */
+    static class NoOpCanvas extends Canvas {
+
+        @Override
+        public int save() {
+            return 1;
+        }
+
+        @Override
+        public void restoreToCount(int saveCount) {
+        }
+
+        @Override
+        public boolean clipRect(Rect rect) {
+            return true;
+        }
+
+        @Override
+        public void drawRect(Rect r, Paint paint) {
+        }
+
+        @Override
+        public void drawRect(RectF rect, Paint paint) {
+        }
+
+        @Override
+        public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        }
+
+        @Override
+        public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Checks that {@link SwipeDecoration.Builder#buildAsync} hands the decoration back on the main
+ * thread, and that a failed build is thrown there instead of leaving the listener waiting.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class SwipeDecorationBuildAsyncTest {
+
+    private static final int ICON_SIZE = 24;
+
+    // Builds on the calling thread, only the listener goes through the main looper.
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private Context context;
+    private SwipeDecoration built;
+    private int buildCount;
+    private SwipeDecoration.OnBuildListener listener;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        listener = new SwipeDecoration.OnBuildListener() {
+            @Override
+            public void onBuild(@NonNull SwipeDecoration decoration) {
+                built = decoration;
+                buildCount++;
+            }
+        };
+    }
+
+    @Test
+    public void build_callsListenerOnMainThread() {
+        SwipeTestFixtures.newColorBuilder(context, ICON_SIZE)
+                .setIconLeftAnimation(SwipeDecoration.ANIMATION_ROTATE)
+                .buildAsync(DIRECT, listener);
+        assertNull(built);
+
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(1, buildCount);
+        assertNotNull(built);
+    }
+
+    @Test
+    public void missingIcon_isThrownOnMainThread() {
+        SwipeDecoration.Builder builder = new SwipeDecoration.Builder(context)
+                .setIconLeftResource(0x7f0fffff);
+
+        assertThrownOnMainThread(builder, Resources.NotFoundException.class);
+    }
+
+    @Test
+    public void errorWhileRasterizing_isThrownOnMainThread() {
+        SwipeDecoration.Builder builder = new SwipeDecoration.Builder(context)
+                .setIconLeftDrawable(new OutOfMemoryIcon())
+                .setIconLeftAnimation(SwipeDecoration.ANIMATION_ROTATE);
+
+        assertThrownOnMainThread(builder, OutOfMemoryError.class);
+    }
+
+    private void assertThrownOnMainThread(SwipeDecoration.Builder builder, Class<? extends Throwable> expected) {
+        // Nothing is thrown to the executor.
+        builder.buildAsync(DIRECT, listener);
+
+        Throwable thrown = null;
+        try {
+            shadowOf(Looper.getMainLooper()).idle();
+        } catch (Throwable t) {
+            thrown = t;
+        }
+        assertTrue(expected.getSimpleName() + " expected, got " + thrown, expected.isInstance(thrown));
+        assertEquals(0, buildCount);
+    }
+
+    // Fails to rasterize, as an icon too large for the memory left would.
+    private static final class OutOfMemoryIcon extends Drawable {
+
+        @Override
+        public void draw(@NonNull Canvas canvas) {
+            throw new OutOfMemoryError();
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+        }
+
+        @Override
+        public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+
+        @Override
+        public int getIntrinsicWidth() {
+            return ICON_SIZE;
+        }
+
+        @Override
+        public int getIntrinsicHeight() {
+            return ICON_SIZE;
+        }
+    }
+}
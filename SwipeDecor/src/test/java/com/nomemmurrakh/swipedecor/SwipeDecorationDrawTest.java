@@ -0,0 +1,126 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.os.Build;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks what {@link SwipeDecoration#applyDecoration} draws, and where, with a {@link DrawCallCanvas}.
+ * <p>
+ * The item does not start at the left of the list, as with a padded list or a grid column,
+ * so a decoration drawn relative to the list instead of the item is caught.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class SwipeDecorationDrawTest {
+
+    private static final int VIEW_LEFT = 40;
+    private static final int VIEW_TOP = 100;
+    private static final int VIEW_WIDTH = 600;
+    private static final int VIEW_HEIGHT = 200;
+    private static final int ICON_SIZE = 48;
+
+    private Context context;
+    private RecyclerView.ViewHolder viewHolder;
+    private DrawCallCanvas canvas;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+
+        View itemView = new View(context);
+        itemView.layout(VIEW_LEFT, VIEW_TOP, VIEW_LEFT + VIEW_WIDTH, VIEW_TOP + VIEW_HEIGHT);
+        viewHolder = new RecyclerView.ViewHolder(itemView) {};
+        canvas = new DrawCallCanvas();
+    }
+
+    @Test
+    public void zeroDisplacement_drawsNothing() {
+        SwipeDecoration decoration = SwipeTestFixtures.newColorBuilder(context, ICON_SIZE).build();
+
+        decoration.applyDecoration(canvas, viewHolder, 0f);
+        decoration.applyDecoration(canvas, viewHolder, 0.9f);
+        decoration.applyDecoration(canvas, viewHolder, -0.9f);
+
+        assertTrue(canvas.drawnBounds.isEmpty());
+        assertTrue(canvas.clipBounds.isEmpty());
+    }
+
+    @Test
+    public void drawing_isClippedToRevealBounds() {
+        SwipeDecoration decoration = SwipeTestFixtures.newColorBuilder(context, ICON_SIZE).build();
+
+        decoration.applyDecoration(canvas, viewHolder, 100f);
+        assertEquals(new Rect(VIEW_LEFT, VIEW_TOP, VIEW_LEFT + 100, VIEW_TOP + VIEW_HEIGHT), canvas.clipBounds);
+
+        canvas.reset();
+        decoration.applyDecoration(canvas, viewHolder, -100f);
+        assertEquals(new Rect(VIEW_LEFT + VIEW_WIDTH - 100, VIEW_TOP, VIEW_LEFT + VIEW_WIDTH, VIEW_TOP + VIEW_HEIGHT), canvas.clipBounds);
+    }
+
+    @Test
+    public void iconOutsideOfReveal_isSkipped() {
+        SwipeDecoration decoration = newBuilder()
+                .setIconLeftBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_CENTER)
+                .setIconRightBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_CENTER)
+                .build();
+
+        decoration.applyDecoration(canvas, viewHolder, 100f);
+        decoration.applyDecoration(canvas, viewHolder, -100f);
+
+        assertTrue(canvas.drawnBounds.isEmpty());
+    }
+
+    @Test
+    public void icon_isDrawnInsideOfItem() {
+        SwipeDecoration decoration = newBuilder()
+                .setIconLeftBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_START)
+                .setIconRightBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_START)
+                .build();
+        int iconTop = VIEW_TOP + (VIEW_HEIGHT - ICON_SIZE) / 2;
+
+        decoration.applyDecoration(canvas, viewHolder, 100f);
+        int iconLeft = VIEW_LEFT + SwipeDecoration.MARGIN;
+        assertEquals(1, canvas.drawnBounds.size());
+        assertEquals(new Rect(iconLeft, iconTop, iconLeft + ICON_SIZE, iconTop + ICON_SIZE), canvas.drawnBounds.get(0));
+
+        canvas.reset();
+        decoration.applyDecoration(canvas, viewHolder, -100f);
+        iconLeft = VIEW_LEFT + VIEW_WIDTH - SwipeDecoration.MARGIN - ICON_SIZE;
+        assertEquals(1, canvas.drawnBounds.size());
+        assertEquals(new Rect(iconLeft, iconTop, iconLeft + ICON_SIZE, iconTop + ICON_SIZE), canvas.drawnBounds.get(0));
+        assertTrue(canvas.clipBounds.contains(canvas.drawnBounds.get(0)));
+    }
+
+    @Test
+    public void icon_isNotDrawnBeforeItIsRevealed() {
+        SwipeDecoration decoration = newBuilder()
+                .setIconLeftBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_START)
+                .build();
+
+        // The icon starts at MARGIN from the left of the item.
+        decoration.applyDecoration(canvas, viewHolder, SwipeDecoration.MARGIN);
+        assertTrue(canvas.drawnBounds.isEmpty());
+
+        decoration.applyDecoration(canvas, viewHolder, SwipeDecoration.MARGIN + 1);
+        assertFalse(canvas.drawnBounds.isEmpty());
+    }
+
+    private SwipeDecoration.Builder newBuilder() {
+        return SwipeTestFixtures.newBuilder(context, ICON_SIZE);
+    }
+}
@@ -0,0 +1,98 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.os.Build;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks which caches {@link SwipeDecoration#trimMemory()} keeps. Masked icons are rasterized
+ * to the shared bitmap cache, so {@link SwipeDecoration#getBitmapByteCount()} tells whether it
+ * was dropped.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class SwipeDecorationTrimTest {
+
+    private static final int VIEW_WIDTH = 600;
+    private static final int VIEW_HEIGHT = 200;
+    private static final int ICON_SIZE = 48;
+    private static final float DX = 200f;
+
+    private SwipeDecoration decoration;
+    private RecyclerView.ViewHolder viewHolder;
+    private DrawCallCanvas canvas;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+
+        decoration = SwipeTestFixtures.newBuilder(context, ICON_SIZE)
+                .setIconMode(SwipeDecoration.ICON_MODE_MASK)
+                .build();
+
+        View itemView = new View(context);
+        itemView.layout(0, 0, VIEW_WIDTH, VIEW_HEIGHT);
+        viewHolder = new RecyclerView.ViewHolder(itemView) {};
+        canvas = new DrawCallCanvas();
+    }
+
+    @Test
+    public void trim_keepsCachesOfSwipedItem() {
+        swipe();
+
+        decoration.trimMemory();
+
+        assertTrue(decoration.getBitmapByteCount() > 0);
+    }
+
+    @Test
+    public void trim_afterClearView_dropsCaches() {
+        swipe();
+        viewHolder.itemView.setTranslationX(0);
+        decoration.clearView(viewHolder);
+
+        decoration.trimMemory();
+
+        assertEquals(0, decoration.getBitmapByteCount());
+    }
+
+    @Test
+    public void trim_afterSwipeEndedWithoutClearView_dropsCaches() {
+        swipe();
+        // Back in place, as ItemTouchHelper leaves it, but clearView is never forwarded.
+        viewHolder.itemView.setTranslationX(0);
+
+        decoration.trimMemory();
+
+        assertEquals(0, decoration.getBitmapByteCount());
+    }
+
+    @Test
+    public void trim_afterItemDrawnAtRest_dropsCaches() {
+        swipe();
+        viewHolder.itemView.setTranslationX(0);
+        decoration.applyDecoration(canvas, viewHolder, 0f);
+
+        decoration.trimMemory();
+
+        assertEquals(0, decoration.getBitmapByteCount());
+    }
+
+    private void swipe() {
+        viewHolder.itemView.setTranslationX(DX);
+        decoration.applyDecoration(canvas, viewHolder, DX);
+        assertTrue(decoration.getBitmapByteCount() > 0);
+    }
+}
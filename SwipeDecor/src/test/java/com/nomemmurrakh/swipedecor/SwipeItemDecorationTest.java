@@ -0,0 +1,192 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.os.Build;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ItemTouchHelper;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link SwipeItemDecoration} only decorates items swiped with {@link ItemTouchHelper}
+ * and releases them once they settle.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class SwipeItemDecorationTest {
+
+    private Context context;
+    private RecyclerView recyclerView;
+    private SwipeItemDecoration itemDecoration;
+    private DrawCallCanvas canvas;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+
+        recyclerView = SwipeTestFixtures.newList(context);
+
+        SwipeDecoration decoration = SwipeTestFixtures.newColorBuilder(context, 24).build();
+        itemDecoration = new SwipeItemDecoration(decoration);
+        canvas = new DrawCallCanvas();
+    }
+
+    @Test
+    public void itemMovedByItemAnimator_isNotDecorated() {
+        RecyclerView.ViewHolder viewHolder = recyclerView.findViewHolderForAdapterPosition(1);
+        viewHolder.itemView.setTranslationX(SwipeTestFixtures.LIST_WIDTH / 2f);
+
+        draw();
+
+        assertTrue(canvas.drawnBounds.isEmpty());
+        assertFalse(itemDecoration.isTracked(viewHolder));
+    }
+
+    @Test
+    public void swipedItem_isDecorated() {
+        RecyclerView.ViewHolder viewHolder = recyclerView.findViewHolderForAdapterPosition(1);
+        itemDecoration.onSelectedChanged(viewHolder, ItemTouchHelper.ACTION_STATE_SWIPE);
+        viewHolder.itemView.setTranslationX(SwipeTestFixtures.LIST_WIDTH / 2f);
+
+        draw();
+
+        assertFalse(canvas.drawnBounds.isEmpty());
+        assertTrue(itemDecoration.isTracked(viewHolder));
+    }
+
+    @Test
+    public void selectedItem_isKeptBeforeItMoves() {
+        RecyclerView.ViewHolder viewHolder = recyclerView.findViewHolderForAdapterPosition(1);
+        itemDecoration.onSelectedChanged(viewHolder, ItemTouchHelper.ACTION_STATE_SWIPE);
+
+        draw();
+
+        assertTrue(canvas.drawnBounds.isEmpty());
+        assertTrue(itemDecoration.isTracked(viewHolder));
+    }
+
+    @Test
+    public void recoveringItem_isDecoratedUntilBackInPlace() {
+        RecyclerView.ViewHolder viewHolder = recyclerView.findViewHolderForAdapterPosition(1);
+        itemDecoration.onSelectedChanged(viewHolder, ItemTouchHelper.ACTION_STATE_SWIPE);
+        viewHolder.itemView.setTranslationX(-SwipeTestFixtures.LIST_WIDTH / 2f);
+        draw();
+
+        // Released by the user, the item animates back.
+        itemDecoration.onSelectedChanged(null, ItemTouchHelper.ACTION_STATE_IDLE);
+        viewHolder.itemView.setTranslationX(-SwipeTestFixtures.LIST_WIDTH / 4f);
+        draw();
+        assertFalse(canvas.drawnBounds.isEmpty());
+        assertTrue(itemDecoration.isTracked(viewHolder));
+
+        viewHolder.itemView.setTranslationX(0);
+        draw();
+        assertTrue(canvas.drawnBounds.isEmpty());
+        assertFalse(itemDecoration.isTracked(viewHolder));
+
+        // Moved again by an item animator, not by a swipe.
+        viewHolder.itemView.setTranslationX(SwipeTestFixtures.LIST_WIDTH / 2f);
+        draw();
+        assertTrue(canvas.drawnBounds.isEmpty());
+    }
+
+    @Test
+    public void itemRemovedFromList_isReleased() {
+        RecyclerView.ViewHolder viewHolder = new RecyclerView.ViewHolder(new View(context)) {};
+        viewHolder.itemView.layout(0, 0, SwipeTestFixtures.LIST_WIDTH, SwipeTestFixtures.ITEM_HEIGHT);
+        itemDecoration.onSelectedChanged(viewHolder, ItemTouchHelper.ACTION_STATE_SWIPE);
+        itemDecoration.onSelectedChanged(null, ItemTouchHelper.ACTION_STATE_IDLE);
+        viewHolder.itemView.setTranslationX(SwipeTestFixtures.LIST_WIDTH);
+
+        draw();
+
+        assertTrue(canvas.drawnBounds.isEmpty());
+        assertFalse(itemDecoration.isTracked(viewHolder));
+    }
+
+    @Test
+    public void clearView_releasesItem() {
+        RecyclerView.ViewHolder viewHolder = recyclerView.findViewHolderForAdapterPosition(2);
+        itemDecoration.onSelectedChanged(viewHolder, ItemTouchHelper.ACTION_STATE_SWIPE);
+        viewHolder.itemView.setTranslationX(SwipeTestFixtures.LIST_WIDTH / 2f);
+        draw();
+
+        itemDecoration.clearView(viewHolder);
+        draw();
+
+        assertEquals(0, canvas.drawnBounds.size());
+        assertFalse(itemDecoration.isTracked(viewHolder));
+    }
+
+    @Test
+    public void addedBeforeItemTouchHelper_drawsTranslationOfSameFrame() {
+        RecyclerView.ViewHolder viewHolder = recyclerView.findViewHolderForAdapterPosition(1);
+        recyclerView.addItemDecoration(itemDecoration);
+        newItemTouchHelper(viewHolder).attachToRecyclerView(recyclerView);
+
+        itemDecoration.onSelectedChanged(viewHolder, ItemTouchHelper.ACTION_STATE_SWIPE);
+        drawList();
+
+        assertEquals(SwipeTestFixtures.LIST_WIDTH / 2, canvas.clipBounds.width());
+    }
+
+    @Test
+    public void addedAfterItemTouchHelper_drawsTranslationOfSameFrame() {
+        RecyclerView.ViewHolder viewHolder = recyclerView.findViewHolderForAdapterPosition(1);
+        newItemTouchHelper(viewHolder).attachToRecyclerView(recyclerView);
+        recyclerView.addItemDecoration(itemDecoration);
+
+        itemDecoration.onSelectedChanged(viewHolder, ItemTouchHelper.ACTION_STATE_SWIPE);
+        drawList();
+
+        assertEquals(SwipeTestFixtures.LIST_WIDTH / 2, canvas.clipBounds.width());
+    }
+
+    private void draw() {
+        canvas.reset();
+        itemDecoration.onDraw(canvas, recyclerView, new RecyclerView.State());
+    }
+
+    // Draws the decorations of the list in order, as RecyclerView.onDraw does.
+    private void drawList() {
+        canvas.reset();
+        RecyclerView.State state = new RecyclerView.State();
+        for (int i = 0; i < recyclerView.getItemDecorationCount(); i++) {
+            recyclerView.getItemDecorationAt(i).onDraw(canvas, recyclerView, state);
+        }
+    }
+
+    // Translates the swiped item in its onDraw, as ItemTouchHelper does on every frame of a swipe.
+    private static ItemTouchHelper newItemTouchHelper(final RecyclerView.ViewHolder swiped) {
+        ItemTouchHelper.Callback callback = new ItemTouchHelper.SimpleCallback(0, ItemTouchHelper.LEFT | ItemTouchHelper.RIGHT) {
+            @Override
+            public boolean onMove(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder,
+                                  @NonNull RecyclerView.ViewHolder target) {
+                return false;
+            }
+
+            @Override
+            public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
+            }
+        };
+        return new ItemTouchHelper(callback) {
+            @Override
+            public void onDraw(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+                swiped.itemView.setTranslationX(SwipeTestFixtures.LIST_WIDTH / 2f);
+            }
+        };
+    }
+}
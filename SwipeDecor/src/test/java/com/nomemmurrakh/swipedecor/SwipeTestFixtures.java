@@ -0,0 +1,88 @@
+package com.nomemmurrakh.swipedecor;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.drawable.GradientDrawable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Decorations and lists shared by the tests, drawn with {@link DrawCallCanvas} or
+ * {@link SwipeDecorationAllocationTest.NoOpCanvas}.
+ */
+final class SwipeTestFixtures {
+
+    static final int LIST_WIDTH = 360;
+    static final int LIST_HEIGHT = 640;
+    static final int ITEM_HEIGHT = 80;
+    static final int ITEM_COUNT = 5;
+
+    private SwipeTestFixtures() {
+    }
+
+    /**
+     * @return a square black icon of the given size.
+     */
+    static GradientDrawable newIcon(int size) {
+        GradientDrawable icon = new GradientDrawable();
+        icon.setColor(Color.BLACK);
+        icon.setSize(size, size);
+        return icon;
+    }
+
+    /**
+     * @return Builder with an icon of the given size in both directions, and no background.
+     */
+    static SwipeDecoration.Builder newBuilder(Context context, int iconSize) {
+        return new SwipeDecoration.Builder(context)
+                .setIconLeftDrawable(newIcon(iconSize))
+                .setIconRightDrawable(newIcon(iconSize));
+    }
+
+    /**
+     * @return same as {@link #newBuilder(Context, int)}, with a color background in both directions.
+     */
+    static SwipeDecoration.Builder newColorBuilder(Context context, int iconSize) {
+        return newBuilder(context, iconSize)
+                .setBackgroundLeftColor(Color.CYAN)
+                .setBackgroundRightColor(Color.GRAY);
+    }
+
+    /**
+     * @return a vertical list of {@link #ITEM_COUNT} plain items, measured and laid out at
+     * {@link #LIST_WIDTH} x {@link #LIST_HEIGHT} so its view holders can be found by position.
+     */
+    static RecyclerView newList(Context context) {
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+        recyclerView.setAdapter(new ItemAdapter());
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(LIST_WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(LIST_HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, LIST_WIDTH, LIST_HEIGHT);
+        return recyclerView;
+    }
+
+    private static class ItemAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            View itemView = new View(parent.getContext());
+            itemView.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT));
+            return new RecyclerView.ViewHolder(itemView) {};
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return ITEM_COUNT;
+        }
+    }
+}
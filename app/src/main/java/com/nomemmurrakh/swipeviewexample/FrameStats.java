@@ -0,0 +1,77 @@
+package com.nomemmurrakh.swipeviewexample;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Collects frame durations of a stress run and reports their percentiles.
+ * <p>
+ * Fed by {@link android.view.FrameMetrics} on a device, or by timing the draw of every
+ * frame when run on the JVM.
+ */
+final class FrameStats {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] durations;
+    private int count;
+
+    FrameStats(){
+        this.durations = new long[INITIAL_CAPACITY];
+    }
+
+    void add(long durationNanos){
+        if (count == durations.length){
+            durations = Arrays.copyOf(durations, count * 2);
+        }
+        durations[count++] = durationNanos;
+    }
+
+    void clear(){
+        count = 0;
+    }
+
+    int getFrameCount(){
+        return count;
+    }
+
+    /**
+     * @param percentile between 0 and 100.
+     * @return frame duration at the percentile in nanoseconds, 0 if no frame was added.
+     */
+    long getPercentile(int percentile){
+        if (count == 0){
+            return 0;
+        }
+
+        long[] sorted = Arrays.copyOf(durations, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil((percentile / 100.0) * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /**
+     * @param frameBudgetNanos duration of one refresh of the display.
+     * @return number of frames that took longer than the budget.
+     */
+    int getJankyFrameCount(long frameBudgetNanos){
+        int janky = 0;
+        for (int i = 0; i < count; i++){
+            if (durations[i] > frameBudgetNanos){
+                janky++;
+            }
+        }
+        return janky;
+    }
+
+    String report(String name, long frameBudgetNanos){
+        return String.format(Locale.US, "%s: %d frames, p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, %d janky (> %.2f ms)",
+                name,
+                count,
+                getPercentile(50) / 1e6,
+                getPercentile(90) / 1e6,
+                getPercentile(99) / 1e6,
+                getJankyFrameCount(frameBudgetNanos),
+                frameBudgetNanos / 1e6);
+    }
+}
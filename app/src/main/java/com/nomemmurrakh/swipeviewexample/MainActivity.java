@@ -6,10 +6,13 @@ import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
+import android.os.AsyncTask;
 import android.os.Bundle;
+import android.view.Menu;
+import android.view.MenuItem;
 
+import com.nomemmurrakh.swipedecor.SwipeDecorCallback;
 import com.nomemmurrakh.swipedecor.SwipeDecoration;
 import com.nomemmurrakh.swipeviewexample.databinding.ActivityMainBinding;
 
@@ -28,38 +31,45 @@ public class MainActivity extends AppCompatActivity{
         mainActivity = ActivityMainBinding.inflate(getLayoutInflater());
         setContentView(mainActivity.getRoot());
 
-        decoration = new SwipeDecoration.Builder(MainActivity.this)
+        new SwipeDecoration.Builder(MainActivity.this)
                 .setIconLeftAnimDrawable(R.drawable.animated_vector_update)
                 .setIconRightResource(R.drawable.ic_send_black_24dp)
                 .setBackgroundLeftColor(Color.CYAN)
                 .setBackgroundRightColor(Color.GRAY)
                 .setIconRightAnimation(SwipeDecoration.ANIMATION_FADE)
-                .build();
+                .setLabelLeft(getString(R.string.label_update))
+                .setLabelRight(getString(R.string.label_send))
+                .buildAsync(AsyncTask.THREAD_POOL_EXECUTOR, new SwipeDecoration.OnBuildListener() {
+                    @Override
+                    public void onBuild(@NonNull SwipeDecoration swipeDecoration) {
+                        decoration = swipeDecoration;
+
+                        // Items can be swiped once the decoration is built.
+                        new ItemTouchHelper(new SwipeDecorCallback(decoration, ItemTouchHelper.LEFT | ItemTouchHelper.RIGHT) {
+                            @Override
+                            public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
+
+                            }
+                        }).attachToRecyclerView(mainActivity.listColors);
+                    }
+                });
 
         colors = new ArrayList<>();
         setColors();
         setColorList();
 
-        new ItemTouchHelper(new ItemTouchHelper.SimpleCallback(0, ItemTouchHelper.LEFT | ItemTouchHelper.RIGHT) {
-            @Override
-            public boolean onMove(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder, @NonNull RecyclerView.ViewHolder target) {
-                return false;
-            }
-
-            @Override
-            public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
-
-            }
-
-            @Override
-            public void onChildDraw(@NonNull Canvas c, @NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder, float dX, float dY, int actionState, boolean isCurrentlyActive) {
-                super.onChildDraw(c, recyclerView, viewHolder, dX, dY, actionState, isCurrentlyActive);
-
-                decoration.applyDecoration(c, viewHolder, dX);
+    }
 
-            }
-        }).attachToRecyclerView(mainActivity.listColors);
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        menu.add(R.string.stress_test);
+        return true;
+    }
 
+    @Override
+    public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        startActivity(StressActivity.newIntent(MainActivity.this, StressActivity.DEFAULT_ITEM_COUNT, StressActivity.CONFIG_STATIC));
+        return true;
     }
 
     private void setColors(){
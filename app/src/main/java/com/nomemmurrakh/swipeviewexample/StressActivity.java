@@ -0,0 +1,296 @@
+package com.nomemmurrakh.swipeviewexample;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.ItemTouchHelper;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Color;
+import android.graphics.drawable.GradientDrawable;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.FrameMetrics;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.view.Window;
+
+import com.nomemmurrakh.swipedecor.SwipeDecorCallback;
+import com.nomemmurrakh.swipedecor.SwipeDecoration;
+import com.nomemmurrakh.swipeviewexample.databinding.ActivityStressBinding;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Swipes a list of tens of thousands of items with a scripted sequence of touch events,
+ * and reports the frame times of the run.
+ * <p>
+ * On API 24+ frame times come from {@link FrameMetrics}. The report is logged, shown on
+ * screen and written to <code>stress-&lt;config&gt;.txt</code> in the external files directory.
+ * <pre>
+ * adb shell am start -n com.nomemmurrakh.swipeviewexample/.StressActivity --ei item_count 50000 --es config rotate
+ * </pre>
+ */
+public class StressActivity extends AppCompatActivity {
+
+    static final String EXTRA_ITEM_COUNT = "item_count";
+    static final String EXTRA_SWIPE_COUNT = "swipe_count";
+    static final String EXTRA_CONFIG = "config";
+    static final String EXTRA_AUTO_RUN = "auto_run";
+
+    static final String CONFIG_STATIC = "static";
+    static final String CONFIG_FADE = "fade";
+    static final String CONFIG_ROTATE = "rotate";
+    static final String CONFIG_ANIMATED = "animated";
+    static final String CONFIG_GRADIENT = "gradient";
+
+    static final String[] CONFIGS = {CONFIG_STATIC, CONFIG_FADE, CONFIG_ROTATE, CONFIG_ANIMATED, CONFIG_GRADIENT};
+
+    static final int DEFAULT_ITEM_COUNT = 20000;
+    static final int DEFAULT_SWIPE_COUNT = 40;
+
+    private static final String TAG = "StressActivity";
+
+    private static final String[] COLOR_NAMES = {"CYAN", "DKGRAY", "GRAY", "MAGENTA"};
+    private static final int[] COLOR_CODES = {Color.CYAN, Color.DKGRAY, Color.GRAY, Color.MAGENTA};
+
+    private ActivityStressBinding stressActivity;
+    private ItemTouchHelper itemTouchHelper;
+    private SwipeDecoration decoration;
+    private String config;
+    private int swipeCount;
+
+    private final FrameStats frameStats = new FrameStats();
+    private SwipeScript script;
+    private Window.OnFrameMetricsAvailableListener frameMetricsListener;
+
+    private final Choreographer.FrameCallback scriptCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (script != null && script.step()){
+                Choreographer.getInstance().postFrameCallback(this);
+            }else{
+                finishRun();
+            }
+        }
+    };
+
+    static Intent newIntent(Context context, int itemCount, String config){
+        return new Intent(context, StressActivity.class)
+                .putExtra(EXTRA_ITEM_COUNT, itemCount)
+                .putExtra(EXTRA_CONFIG, config);
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        stressActivity = ActivityStressBinding.inflate(getLayoutInflater());
+        setContentView(stressActivity.getRoot());
+
+        Intent intent = getIntent();
+        int itemCount = intent.getIntExtra(EXTRA_ITEM_COUNT, DEFAULT_ITEM_COUNT);
+        swipeCount = intent.getIntExtra(EXTRA_SWIPE_COUNT, DEFAULT_SWIPE_COUNT);
+        config = intent.getStringExtra(EXTRA_CONFIG) != null ? intent.getStringExtra(EXTRA_CONFIG) : CONFIG_STATIC;
+
+        ArrayList<com.nomemmurrakh.swipeviewexample.Color> colors = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++){
+            int color = i % COLOR_NAMES.length;
+            colors.add(new com.nomemmurrakh.swipeviewexample.Color(i, COLOR_NAMES[color] + " #" + i, COLOR_CODES[color]));
+        }
+
+        stressActivity.listStress.setLayoutManager(new LinearLayoutManager(StressActivity.this));
+        stressActivity.listStress.setAdapter(new ColorAdapter(StressActivity.this, colors));
+        setConfig(config);
+
+        if (intent.getBooleanExtra(EXTRA_AUTO_RUN, true)){
+            // Wait for the first layout, the script needs visible items.
+            stressActivity.listStress.post(new Runnable() {
+                @Override
+                public void run() {
+                    startRun();
+                }
+            });
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        Choreographer.getInstance().removeFrameCallback(scriptCallback);
+        stopFrameMetrics();
+        decoration.release();
+    }
+
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        for (int i = 0; i < CONFIGS.length; i++){
+            menu.add(Menu.NONE, i, i, CONFIGS[i]);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        if (item.getItemId() >= 0 && item.getItemId() < CONFIGS.length){
+            setConfig(CONFIGS[item.getItemId()]);
+            startRun();
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
+    RecyclerView getRecyclerView(){
+        return stressActivity.listStress;
+    }
+
+    String getConfig(){
+        return config;
+    }
+
+    /**
+     * Replaces the decoration of the list with one built for the configuration.
+     * @param config one of {@link #CONFIGS}.
+     */
+    void setConfig(String config){
+        this.config = config;
+
+        if (itemTouchHelper != null){
+            itemTouchHelper.attachToRecyclerView(null);
+            decoration.release();
+        }
+
+        decoration = buildDecoration(StressActivity.this, config);
+        itemTouchHelper = new ItemTouchHelper(new SwipeDecorCallback(decoration, ItemTouchHelper.LEFT | ItemTouchHelper.RIGHT) {
+            @Override
+            public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
+            }
+
+            // Swipes never complete, so every run sees the same list.
+            @Override
+            public float getSwipeThreshold(@NonNull RecyclerView.ViewHolder viewHolder) {
+                return Float.MAX_VALUE;
+            }
+
+            @Override
+            public float getSwipeEscapeVelocity(float defaultValue) {
+                return Float.MAX_VALUE;
+            }
+        });
+        itemTouchHelper.attachToRecyclerView(stressActivity.listStress);
+    }
+
+    static SwipeDecoration buildDecoration(Context context, String config){
+
+        SwipeDecoration.Builder builder = new SwipeDecoration.Builder(context)
+                .setIconLeftResource(R.drawable.ic_remove_black_24dp)
+                .setIconRightResource(R.drawable.ic_send_black_24dp)
+                .setBackgroundLeftColor(Color.CYAN)
+                .setBackgroundRightColor(Color.GRAY);
+
+        switch (config){
+            case CONFIG_FADE:
+                builder.setIconLeftBehaviour(SwipeDecoration.BEHAVIOUR_DYNAMIC)
+                        .setIconRightBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_CENTER)
+                        .setIconLeftAnimation(SwipeDecoration.ANIMATION_FADE)
+                        .setIconRightAnimation(SwipeDecoration.ANIMATION_FADE);
+                break;
+            case CONFIG_ROTATE:
+                builder.setIconLeftBehaviour(SwipeDecoration.BEHAVIOUR_DYNAMIC)
+                        .setIconRightBehaviour(SwipeDecoration.BEHAVIOUR_STATIC_END)
+                        .setIconLeftAnimation(SwipeDecoration.ANIMATION_ROTATE)
+                        .setIconRightAnimation(SwipeDecoration.ANIMATION_ROTATE);
+                break;
+            case CONFIG_ANIMATED:
+                builder.setIconLeftAnimDrawable(R.drawable.animated_vector_update)
+                        .setIconRightAnimDrawable(R.drawable.animated_vector_update);
+                break;
+            case CONFIG_GRADIENT:
+                builder.setBackgroundLeftGradientDrawable(new GradientDrawable(GradientDrawable.Orientation.LEFT_RIGHT,
+                                new int[]{Color.CYAN, Color.BLUE}))
+                        .setBackgroundRightGradientDrawable(new GradientDrawable(GradientDrawable.Orientation.RIGHT_LEFT,
+                                new int[]{Color.GRAY, Color.BLACK}))
+                        .setIconLeftAnimation(SwipeDecoration.ANIMATION_FADE);
+                break;
+            case CONFIG_STATIC:
+            default:
+                break;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Duration of one refresh of the display, frames taking longer are janky.
+     */
+    long getFrameBudgetNanos(){
+        float refreshRate = getWindowManager().getDefaultDisplay().getRefreshRate();
+        return (long) (1e9 / (refreshRate > 0 ? refreshRate : 60));
+    }
+
+    private void startRun(){
+        Choreographer.getInstance().removeFrameCallback(scriptCallback);
+        stressActivity.textReport.setText(getString(R.string.stress_running, config));
+
+        frameStats.clear();
+        script = new SwipeScript(stressActivity.listStress, swipeCount);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N){
+            startFrameMetrics();
+        }
+        Choreographer.getInstance().postFrameCallback(scriptCallback);
+    }
+
+    private void finishRun(){
+        script = null;
+        stopFrameMetrics();
+
+        String report = frameStats.report(config, getFrameBudgetNanos());
+        Log.i(TAG, report);
+        stressActivity.textReport.setText(report);
+
+        File dir = getExternalFilesDir(null);
+        if (dir == null){
+            return;
+        }
+        try {
+            FileWriter writer = new FileWriter(new File(dir, "stress-" + config + ".txt"));
+            try {
+                writer.write(report);
+                writer.write('\n');
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Unable to write the report", e);
+        }
+    }
+
+    @RequiresApi(Build.VERSION_CODES.N)
+    private void startFrameMetrics(){
+        stopFrameMetrics();
+
+        frameMetricsListener = new Window.OnFrameMetricsAvailableListener() {
+            @Override
+            public void onFrameMetricsAvailable(Window window, FrameMetrics frameMetrics, int dropCountSinceLastInvocation) {
+                frameStats.add(frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION));
+            }
+        };
+        // Delivered on the main thread, the same one that reads the stats.
+        getWindow().addOnFrameMetricsAvailableListener(frameMetricsListener, new Handler(Looper.getMainLooper()));
+    }
+
+    private void stopFrameMetrics(){
+        if (frameMetricsListener != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N){
+            getWindow().removeOnFrameMetricsAvailableListener(frameMetricsListener);
+        }
+        frameMetricsListener = null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.nomemmurrakh.swipeviewexample;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Swipes items of a RecyclerView by dispatching {@link MotionEvent}s to it, one event
+ * per frame, so every run draws the same sequence of frames.
+ * <p>
+ * Each swipe drags a visible item across most of the list and releases it, waits for it
+ * to recover, then scrolls the list. Swipes alternate between right and left.
+ */
+final class SwipeScript {
+
+    static final int MOVE_FRAMES = 30;
+    static final int RECOVER_FRAMES = 20;
+
+    // Portion of the width swiped from one side towards the other.
+    private static final float SWIPE_START = 0.1f;
+    private static final float SWIPE_END = 0.9f;
+
+    private static final int SCROLL_ITEMS = 3;
+
+    // DOWN, the moves, UP, then frames for the item to recover.
+    private static final int FRAMES_PER_SWIPE = 1 + MOVE_FRAMES + 1 + RECOVER_FRAMES;
+
+    private final RecyclerView recyclerView;
+    private final int swipeCount;
+
+    private int frame;
+    private long downTime;
+    private float touchY;
+
+    SwipeScript(RecyclerView recyclerView, int swipeCount){
+        this.recyclerView = recyclerView;
+        this.swipeCount = swipeCount;
+    }
+
+    /**
+     * Runs the next frame of the script.
+     * @return false once every swipe is done, nothing was dispatched.
+     */
+    boolean step(){
+
+        int swipe = frame / FRAMES_PER_SWIPE;
+        if (swipe >= swipeCount){
+            return false;
+        }
+
+        int swipeFrame = frame % FRAMES_PER_SWIPE;
+        frame++;
+
+        boolean right = swipe % 2 == 0;
+        int width = recyclerView.getWidth();
+        float startX = (right ? SWIPE_START : SWIPE_END) * width;
+        float endX = (right ? SWIPE_END : SWIPE_START) * width;
+
+        if (swipeFrame == 0){
+            int childCount = recyclerView.getChildCount();
+            if (childCount == 0){
+                return true;
+            }
+
+            // A different row on every swipe.
+            View child = recyclerView.getChildAt(swipe % childCount);
+            touchY = (child.getTop() + child.getBottom()) / 2f;
+            downTime = SystemClock.uptimeMillis();
+            dispatch(MotionEvent.ACTION_DOWN, startX);
+        }else if (swipeFrame <= MOVE_FRAMES){
+            dispatch(MotionEvent.ACTION_MOVE, startX + (endX - startX) * swipeFrame / MOVE_FRAMES);
+        }else if (swipeFrame == MOVE_FRAMES + 1){
+            dispatch(MotionEvent.ACTION_UP, endX);
+        }else if (swipeFrame == FRAMES_PER_SWIPE - 1 && recyclerView.getChildCount() > 0){
+            recyclerView.scrollBy(0, recyclerView.getChildAt(0).getHeight() * SCROLL_ITEMS);
+        }
+        return true;
+    }
+
+    private void dispatch(int action, float x){
+        MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, touchY, 0);
+        recyclerView.dispatchTouchEvent(event);
+        event.recycle();
+    }
+}
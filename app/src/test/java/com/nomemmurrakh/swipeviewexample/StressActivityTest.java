@@ -0,0 +1,116 @@
+package com.nomemmurrakh.swipeviewexample;
+
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Build;
+import android.os.Looper;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.Robolectric;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Runs the {@link StressActivity} swipe script on the JVM, for every decoration configuration.
+ * <p>
+ * FrameMetrics are not available here, so the frame time is the time taken to draw the
+ * whole list into a bitmap with Robolectric native graphics, after each scripted event.
+ * Layout and animations are advanced by the paused main looper, one frame at a time.
+ * Reports are printed and written to <code>build/reports/stress</code>.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P, qualifiers = "w360dp-h640dp-xhdpi")
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class StressActivityTest {
+
+    private static final int ITEM_COUNT = 50000;
+    private static final int SWIPE_COUNT = 20;
+    private static final Duration FRAME = Duration.ofMillis(16);
+
+    private static final List<String> reports = new ArrayList<>();
+
+    private final String config;
+
+    public StressActivityTest(String config) {
+        this.config = config;
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (String config : StressActivity.CONFIGS) {
+            parameters.add(new Object[]{config});
+        }
+        return parameters;
+    }
+
+    @Test
+    public void scriptedSwipes() {
+        Context context = ApplicationProvider.getApplicationContext();
+        Intent intent = StressActivity.newIntent(context, ITEM_COUNT, config)
+                .putExtra(StressActivity.EXTRA_AUTO_RUN, false);
+
+        ActivityController<StressActivity> controller = Robolectric.buildActivity(StressActivity.class, intent).setup();
+        StressActivity activity = controller.get();
+        RecyclerView recyclerView = activity.getRecyclerView();
+        shadowOf(Looper.getMainLooper()).idleFor(FRAME);
+
+        assertEquals(ITEM_COUNT, recyclerView.getAdapter().getItemCount());
+        assertTrue("List was not laid out", recyclerView.getChildCount() > 0);
+
+        Canvas canvas = new Canvas(Bitmap.createBitmap(recyclerView.getWidth(), recyclerView.getHeight(), Bitmap.Config.ARGB_8888));
+        SwipeScript script = new SwipeScript(recyclerView, SWIPE_COUNT);
+        FrameStats frameStats = new FrameStats();
+
+        while (script.step()) {
+            shadowOf(Looper.getMainLooper()).idleFor(FRAME);
+
+            long start = System.nanoTime();
+            recyclerView.draw(canvas);
+            frameStats.add(System.nanoTime() - start);
+        }
+        String report = frameStats.report(config, activity.getFrameBudgetNanos());
+        controller.pause().stop().destroy();
+
+        System.out.println(report);
+        reports.add(report);
+
+        assertTrue(frameStats.getFrameCount() >= SWIPE_COUNT * (SwipeScript.MOVE_FRAMES + SwipeScript.RECOVER_FRAMES));
+    }
+
+    @AfterClass
+    public static void report() throws IOException {
+        File reportDir = new File("build/reports/stress");
+        reportDir.mkdirs();
+
+        PrintWriter writer = new PrintWriter(new FileWriter(new File(reportDir, "frames.txt")));
+        try {
+            for (String report : reports) {
+                writer.println(report);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.nomemmurrakh.swipedecor.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A small in-process micro benchmark harness.
+ * <p>
+ * JMH forks its own JVMs, which cannot host the Robolectric sandbox the decoration needs,
+ * so this follows the same warm up / measure scheme inside the test JVM. Time is the
+ * median of several measured batches, allocations are the bytes allocated by the
+ * benchmark thread, both divided by the number of operations.
+ */
+final class BenchmarkRunner {
+
+    /**
+     *  A single benchmarked operation.
+     */
+    interface Operation {
+        void run(int iteration);
+    }
+
+    private static final int WARM_UP_OPERATIONS = 20_000;
+    private static final int BATCHES = 9;
+    private static final int OPERATIONS_PER_BATCH = 5_000;
+
+    private BenchmarkRunner(){
+    }
+
+    static Result run(String name, Operation operation){
+
+        for (int i = 0; i < WARM_UP_OPERATIONS; i++){
+            operation.run(i);
+        }
+
+        long[] batchNanos = new long[BATCHES];
+        long allocatedBytes = 0;
+        long probeCost = probeCost();
+
+        for (int batch = 0; batch < BATCHES; batch++){
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS_PER_BATCH; i++){
+                operation.run(i);
+            }
+            batchNanos[batch] = System.nanoTime() - start;
+            allocatedBytes += Math.max(0, allocatedBytes() - bytesBefore - probeCost);
+        }
+
+        Arrays.sort(batchNanos);
+        double nanosPerOperation = batchNanos[BATCHES / 2] / (double) OPERATIONS_PER_BATCH;
+        double bytesPerOperation = allocatedBytes / (double) (BATCHES * OPERATIONS_PER_BATCH);
+        return new Result(name, nanosPerOperation, bytesPerOperation);
+    }
+
+    private static long probeCost(){
+        long probe = allocatedBytes();
+        return allocatedBytes() - probe;
+    }
+
+    private static long allocatedBytes(){
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    static final class Result {
+
+        final String name;
+        final double nanosPerOperation;
+        final double bytesPerOperation;
+
+        Result(String name, double nanosPerOperation, double bytesPerOperation){
+            this.name = name;
+            this.nanosPerOperation = nanosPerOperation;
+            this.bytesPerOperation = bytesPerOperation;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%-48s %12.1f ns/op %12.1f B/op", name, nanosPerOperation, bytesPerOperation);
+        }
+    }
+}
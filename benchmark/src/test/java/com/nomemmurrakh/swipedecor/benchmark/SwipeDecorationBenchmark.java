@@ -0,0 +1,185 @@
+package com.nomemmurrakh.swipedecor.benchmark;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.BitmapDrawable;
+import android.os.Build;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.nomemmurrakh.swipedecor.SwipeDecoration;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures {@link SwipeDecoration#applyDecoration(Canvas, RecyclerView.ViewHolder, float)}
+ * for every behaviour, animation, direction and icon type. Animated drawables are only
+ * measured with {@link SwipeDecoration#NO_ANIMATION}, the icon animation does not apply to them.
+ * <p>
+ * Frames are drawn into a bitmap backed canvas with Robolectric native graphics, so the
+ * numbers include the real cost of rasterizing the decoration.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class SwipeDecorationBenchmark {
+
+    private static final int VIEW_WIDTH = 1080;
+    private static final int VIEW_HEIGHT = 200;
+    private static final int BITMAP_ICON_SIZE = 72;
+
+    // Power of two, so an iteration maps to a displacement with a mask.
+    private static final int DISPLACEMENT_STEPS = 64;
+
+    private static final String ICON_VECTOR = "vector";
+    private static final String ICON_BITMAP = "bitmap";
+    private static final String ICON_ANIMATED = "animated";
+
+    private static final List<BenchmarkRunner.Result> results = new ArrayList<>();
+
+    private final int behaviour;
+    private final int animation;
+    private final int direction;
+    private final String icon;
+    private final String name;
+
+    private Context context;
+    private Canvas canvas;
+    private RecyclerView.ViewHolder viewHolder;
+    private float[] displacements;
+
+    public SwipeDecorationBenchmark(String name, int behaviour, int animation, int direction, String icon) {
+        this.name = name;
+        this.behaviour = behaviour;
+        this.animation = animation;
+        this.direction = direction;
+        this.icon = icon;
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0}")
+    public static List<Object[]> parameters() {
+        int[] behaviours = {
+                SwipeDecoration.BEHAVIOUR_STATIC_START,
+                SwipeDecoration.BEHAVIOUR_STATIC_END,
+                SwipeDecoration.BEHAVIOUR_STATIC_CENTER,
+                SwipeDecoration.BEHAVIOUR_DYNAMIC
+        };
+        String[] behaviourNames = {"START", "END", "CENTER", "DYNAMIC"};
+        int[] animations = {SwipeDecoration.ANIMATION_FADE, SwipeDecoration.ANIMATION_ROTATE, SwipeDecoration.NO_ANIMATION};
+        String[] animationNames = {"FADE", "ROTATE", "NONE"};
+        int[] directions = {SwipeDecoration.DIRECTION_LEFT, SwipeDecoration.DIRECTION_RIGHT};
+        String[] directionNames = {"LEFT", "RIGHT"};
+        String[] icons = {ICON_VECTOR, ICON_BITMAP, ICON_ANIMATED};
+
+        List<Object[]> parameters = new ArrayList<>();
+        for (int b = 0; b < behaviours.length; b++) {
+            for (int a = 0; a < animations.length; a++) {
+                for (int d = 0; d < directions.length; d++) {
+                    for (String icon : icons) {
+                        // Animated drawables play their own animation, the icon animation is ignored for them.
+                        if (icon.equals(ICON_ANIMATED) && animations[a] != SwipeDecoration.NO_ANIMATION) {
+                            continue;
+                        }
+                        String name = behaviourNames[b] + "/" + animationNames[a] + "/" + directionNames[d] + "/" + icon;
+                        parameters.add(new Object[]{name, behaviours[b], animations[a], directions[d], icon});
+                    }
+                }
+            }
+        }
+        return parameters;
+    }
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        canvas = new Canvas(Bitmap.createBitmap(VIEW_WIDTH, VIEW_HEIGHT, Bitmap.Config.ARGB_8888));
+
+        View itemView = new View(context);
+        itemView.layout(0, 0, VIEW_WIDTH, VIEW_HEIGHT);
+        viewHolder = new RecyclerView.ViewHolder(itemView) {};
+
+        int sign = direction == SwipeDecoration.DIRECTION_RIGHT ? 1 : -1;
+        displacements = new float[DISPLACEMENT_STEPS];
+        for (int i = 0; i < DISPLACEMENT_STEPS; i++) {
+            displacements[i] = sign * (i + 1) * (VIEW_WIDTH / (float) DISPLACEMENT_STEPS);
+        }
+    }
+
+    @Test
+    public void applyDecoration() {
+        final SwipeDecoration decoration = newDecoration();
+
+        results.add(BenchmarkRunner.run(name, new BenchmarkRunner.Operation() {
+            @Override
+            public void run(int iteration) {
+                decoration.applyDecoration(canvas, viewHolder, displacements[iteration & (DISPLACEMENT_STEPS - 1)]);
+            }
+        }));
+    }
+
+    @AfterClass
+    public static void report() throws IOException {
+        File reportDir = new File("build/reports/benchmark");
+        reportDir.mkdirs();
+
+        PrintWriter writer = new PrintWriter(new FileWriter(new File(reportDir, "applyDecoration.txt")));
+        try {
+            for (BenchmarkRunner.Result result : results) {
+                System.out.println(result);
+                writer.println(result);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private SwipeDecoration newDecoration() {
+        SwipeDecoration.Builder builder = new SwipeDecoration.Builder(context)
+                .setBackgroundLeftColor(Color.CYAN)
+                .setBackgroundRightColor(Color.GRAY)
+                .setIconLeftBehaviour(behaviour)
+                .setIconRightBehaviour(behaviour)
+                .setIconLeftAnimation(animation)
+                .setIconRightAnimation(animation);
+
+        switch (icon) {
+            case ICON_ANIMATED:
+                builder.setIconLeftAnimDrawable(R.drawable.bench_ic_animated)
+                        .setIconRightAnimDrawable(R.drawable.bench_ic_animated);
+                break;
+            case ICON_BITMAP:
+                builder.setIconLeftDrawable(newBitmapIcon())
+                        .setIconRightDrawable(newBitmapIcon());
+                break;
+            case ICON_VECTOR:
+            default:
+                builder.setIconLeftResource(R.drawable.bench_ic_vector)
+                        .setIconRightResource(R.drawable.bench_ic_vector);
+                break;
+        }
+        return builder.build();
+    }
+
+    private BitmapDrawable newBitmapIcon() {
+        Bitmap bitmap = Bitmap.createBitmap(BITMAP_ICON_SIZE, BITMAP_ICON_SIZE, Bitmap.Config.ARGB_8888);
+        bitmap.eraseColor(Color.WHITE);
+        return new BitmapDrawable(context.getResources(), bitmap);
+    }
+}